@@ -23,15 +23,30 @@
 package dev.badkraft.anvil.api;
 
 import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Attribute;
 import dev.badkraft.anvil.core.data.Dialect;
+import dev.badkraft.anvil.core.data.Source;
+import dev.badkraft.anvil.core.data.SymbolTable;
+import dev.badkraft.anvil.data.attribute;
+import dev.badkraft.anvil.data.value;
 import dev.badkraft.anvil.api.IResolver;
+import dev.badkraft.anvil.parser.AnvilHandler;
+import dev.badkraft.anvil.parser.AnvilParser;
+import dev.badkraft.anvil.parser.ParserSession;
+import dev.badkraft.anvil.parser.Projection;
+import dev.badkraft.anvil.parser.StatementIndex;
 import dev.badkraft.anvil.utilities.AnvilConverters;
 import dev.badkraft.anvil.utilities.Resolver;
 import dev.badkraft.anvil.utilities.Utils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * The entire public face of ANVL.
@@ -64,6 +79,18 @@ public final class Anvil {
         return new AnvilBuilder(source, dialect, namespace);
     }
 
+    /**
+     * Streams the document through a bounded window instead of holding all of it;
+     * see {@link Source#stream(InputStream)}. The stream is not closed.
+     */
+    public static AnvilBuilder read(InputStream in) {
+        return new AnvilBuilder(in, Dialect.AML, Utils.createNamespace());
+    }
+
+    public static AnvilBuilder read(InputStream in, Dialect dialect, String namespace) {
+        return new AnvilBuilder(in, dialect, namespace);
+    }
+
     public static AnvilBuilder load(Path path) {
         String ext = Utils.getFileExtension(path);
         Dialect dialect = Dialect.fromFileExtension(ext);
@@ -80,30 +107,55 @@ public final class Anvil {
         return new AnvilBuilder(path, dialect, namespace);
     }
 
+    /**
+     * Binds {@code source}, an object by name or a tuple by position, to the record type
+     * {@code type}; see {@link Binder}. The binder for a type is built once and kept.
+     */
+    public static <R> R bind(value source, Class<R> type) {
+        return Binder.of(type).bind(source);
+    }
+
     // =================================================================== //
     // The builder — fluent, honest, complete
     // =================================================================== //
 
     public static final class AnvilBuilder {
 
-        private final String source;           // String or Path
+        private final String source;           // String, Path or InputStream
         private final Dialect dialect;
         private final String namespace;
         private final Path sourcePath;
+        private final InputStream input;
         private IResolver resolver = null;
         private Function<root, IResolver> resolverFactory = null;
+        private SymbolTable symbols = null;
+        private boolean lazy = false;
+        private boolean direct = false;
+        private boolean editable = false;
+        private ForkJoinPool pool = null;
+        private ParserSession session = null;
+        private Predicate<List<Attribute>> statementFilter = null;
 
         private AnvilBuilder(String source, Dialect dialect, String namespace) {
             this.source = source;
             this.dialect = dialect;
             this.namespace = namespace;
             this.sourcePath = null;
+            this.input = null;
         }
         private AnvilBuilder(Path path, Dialect dialect, String namespace) {
             this.sourcePath = path;
             this.dialect = dialect;
             this.namespace = namespace;
             this.source = null;
+            this.input = null;
+        }
+        private AnvilBuilder(InputStream input, Dialect dialect, String namespace) {
+            this.input = input;
+            this.dialect = dialect;
+            this.namespace = namespace;
+            this.source = null;
+            this.sourcePath = null;
         }
 
         public AnvilBuilder withResolver(IResolver resolver) {
@@ -115,28 +167,114 @@ public final class Anvil {
             this.resolver = null;
             return this;
         }
+        /**
+         * Parses each top-level value only when it is first read through {@link root#get} or
+         * {@link root#node}; errors inside a value surface then. InputStream sources, which do
+         * not keep their text, are always parsed up front.
+         */
+        public AnvilBuilder lazy() {
+            this.lazy = true;
+            return this;
+        }
+        /**
+         * Builds the {@link root} straight from the parser, without the {@link Context} tree
+         * it is otherwise converted from: one pass, and no second copy of the document. Cannot
+         * be combined with {@link #lazy()}, {@link #parallel} or {@link #withSession}, which
+         * build that tree; {@link #parse()} throws IllegalStateException if it is. With
+         * {@link #editable()}, the first edit parses the text in full.
+         */
+        public AnvilBuilder direct() {
+            this.direct = true;
+            return this;
+        }
+        /**
+         * Keeps the text and where each statement sits in it, for {@link root#applyEdit}. Off by
+         * default, as it holds the source for as long as the root lives. Needs a source that keeps
+         * its text: a String or a Path, not an InputStream. A lazy root's first edit parses the
+         * text in full.
+         */
+        public AnvilBuilder editable() {
+            this.editable = true;
+            return this;
+        }
+        /**
+         * Parses large documents in chunks on {@code pool}; the result is the same as a
+         * sequential parse. Ignored by {@link #lazy()}, which only scans statements.
+         */
+        public AnvilBuilder parallel(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+        /**
+         * Parses through {@code session}, reusing its buffers from the last document it parsed;
+         * for reload loops that parse many small files. See {@link ParserSession}.
+         */
+        public AnvilBuilder withSession(ParserSession session) {
+            this.session = session;
+            return this;
+        }
+        /**
+         * Keeps only the statements whose attributes pass {@code filter}, e.g. those tagged
+         * {@code @[type=ore]}; the values of the rest are skipped unparsed. Module attributes
+         * are always kept. See {@link Context.Builder#statementFilter}.
+         */
+        public AnvilBuilder where(Predicate<List<Attribute>> filter) {
+            this.statementFilter = filter;
+            return this;
+        }
+        /** Interns keys into {@code symbols}, shared with other documents read through it. */
+        public AnvilBuilder withSymbols(SymbolTable symbols) {
+            this.symbols = symbols;
+            return this;
+        }
         /**
          * Parse and return a fully constructed {@link root}.
          * <p>
-         * Default resolver is {@link Resolver#of(root)} if none provided.
+         * Default resolver is {@link Resolver#of(root)} if none provided. Only an {@link #editable()}
+         * root keeps its text for {@link root#applyEdit}.
          */
         public root parse() throws IOException {
-            var ctxBuilder = Context.builder();
-            if (source != null) {
-                ctxBuilder.source(source);
-            } else if (sourcePath != null) {
-                ctxBuilder.source(sourcePath);
+            Context ctx = context();
+            if (editable && !ctx.source().retainsText()) {
+                throw new IllegalStateException("editable() needs a source that keeps its text, not an InputStream");
+            }
+            if (direct && (lazy || pool != null || session != null)) {
+                throw new IllegalStateException("direct() cannot be combined with lazy(), parallel() or withSession()");
+            }
+            root r;
+            if (lazy && ctx.source().retainsText()) {
+                r = buildLazyRoot(AnvilParser.index(ctx));
+                if (editable) r.track(EditTracker.of(ctx, r.nodes()));
+            } else if (direct) {
+                RuntimeBuilder builder = new RuntimeBuilder();
+                AnvilParser.build(ctx, builder);
+                r = builder.root();
+                if (editable) r.track(EditTracker.of(ctx, r.nodes()));
             } else {
-                throw new IllegalStateException("No source provided to Anvil parser");
+                int headerEnd = ctx.source().position();
+                if (pool != null) ctx.parse(pool);
+                else if (session != null) ctx.parse(session);
+                else ctx.parse();
+                List<node> nodes = nodes(ctx);
+                r = new root(nodes, attributes(ctx));
+                if (editable) r.track(EditTracker.of(ctx, headerEnd, nodes));
             }
-            Context ctx = ctxBuilder
-                    .dialect(dialect)
-                    .namespace(namespace)
-                    .build();
+            return resolved(r);
+        }
 
-            ctx.parse();
-            root r = buildRoot(ctx);
+        /**
+         * Parse only what {@code paths} select, e.g. {@code project("*.hardness", "ore_*.drop")},
+         * into an ordinary {@link root}. Selected values are parsed in full; everything else is
+         * skipped without building values. See {@link Projection} for the path syntax.
+         */
+        public root project(String... paths) throws IOException {
+            Projection projection = Projection.of(paths);
+            Context ctx = context();
+            AnvilParser.parse(ctx, projection);
+            return resolved(buildRoot(ctx));
+        }
 
+        private root resolved(root r) {
             // Resolve resolver — in the correct order
             IResolver resolver;
             if (this.resolver != null) {
@@ -152,12 +290,56 @@ public final class Anvil {
             return r;
         }
 
+        /**
+         * Push mode: streams the document to {@code handler} without building a {@link root}
+         * or any intermediate values; see {@link AnvilHandler}.
+         */
+        public void stream(AnvilHandler handler) throws IOException {
+            AnvilParser.parse(context(), handler);
+        }
+
+        private Context context() throws IOException {
+            var ctxBuilder = Context.builder();
+            if (source != null) {
+                ctxBuilder.source(source);
+            } else if (sourcePath != null) {
+                ctxBuilder.source(sourcePath);
+            } else if (input != null) {
+                ctxBuilder.source(Source.stream(input));
+            } else {
+                throw new IllegalStateException("No source provided to Anvil parser");
+            }
+            return ctxBuilder
+                    .dialect(dialect)
+                    .namespace(namespace)
+                    .symbols(symbols)
+                    .statementFilter(statementFilter)
+                    .build();
+        }
+
         private root buildRoot(Context ctx) {
-            var nodes = ctx.statements().stream()
+            return new root(nodes(ctx), attributes(ctx));
+        }
+
+        private static List<node> nodes(Context ctx) {
+            return ctx.statements().stream()
                     .map(AnvilConverters::toNode)
                     .toList();
+        }
+
+        private static List<attribute> attributes(Context ctx) {
+            return ctx.attributes().stream()
+                    .map(AnvilConverters::toAttribute)
+                    .toList();
+        }
+
+        private root buildLazyRoot(StatementIndex index) {
+            List<node> nodes = new ArrayList<>(index.size());
+            for (int i = 0; i < index.size(); i++) {
+                nodes.add(AnvilConverters.toNode(index, i));
+            }
 
-            var attrs = ctx.attributes().stream()
+            var attrs = index.context().attributes().stream()
                     .map(AnvilConverters::toAttribute)
                     .toList();
 
@@ -0,0 +1,301 @@
+/// src/main/java/dev/badkraft/anvil/api/Binder.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.api;
+
+import dev.badkraft.anvil.data.array;
+import dev.badkraft.anvil.data.object;
+import dev.badkraft.anvil.data.tuple;
+import dev.badkraft.anvil.data.value;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Binds runtime values to a record type: an {@link object} by component name, a {@link tuple}
+ * by position. One binder is built per record class, on first use, from {@link MethodHandle}s:
+ * the canonical constructor with a field read and a conversion filtered onto each argument, so
+ * binding itself runs no reflection and boxes no primitive component.
+ * <p>
+ * A component may be a primitive or its box, a {@code String}, an enum (by constant name), a
+ * nested record, a {@code List} or an array of any of these ({@code long[]} and
+ * {@code double[]} come straight from {@link array#asLongArray()} and {@link array#asDoubleArray()}),
+ * or a runtime type ({@link value}, {@link object}, {@link array}, {@link tuple}) taken as is.
+ * A missing field or {@code null} binds to {@code null}; for a primitive it is an error.
+ */
+public final class Binder<R> {
+    private static final ClassValue<Binder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected Binder<?> computeValue(Class<?> type) {
+            return new Binder<>(type);
+        }
+    };
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final value NULL = new value.NullValue();
+    private static final MethodHandle FIELD = find("field", value.class, String.class, String.class, boolean.class, object.class);
+    private static final MethodHandle ELEMENT = find("element", value.class, int.class, String.class, boolean.class, tuple.class);
+    private static final MethodHandle IS_NULL = find("isNull", boolean.class, value.class);
+
+    private final Class<R> type;
+    private final MethodHandle byName;      // (object)Object
+    private final MethodHandle byPosition;  // (tuple)Object
+
+    private Binder(Class<R> type) {
+        if (!type.isRecord()) throw new IllegalArgumentException(type.getName() + " is not a record");
+        this.type = type;
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameters = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) parameters[i] = components[i].getType();
+        MethodHandle constructor;
+        try {
+            constructor = MethodHandles.privateLookupIn(type, LOOKUP)
+                    .findConstructor(type, methodType(void.class, parameters));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot bind " + type.getName() + ": " + e.getMessage(), e);
+        }
+
+        MethodHandle[] names = new MethodHandle[components.length];
+        MethodHandle[] positions = new MethodHandle[components.length];
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent c = components[i];
+            String where = type.getSimpleName() + "." + c.getName();
+            boolean required = c.getType().isPrimitive();
+            MethodHandle convert = converter(c.getGenericType(), where);
+            names[i] = MethodHandles.filterReturnValue(
+                    MethodHandles.insertArguments(FIELD, 0, c.getName(), where, required), convert);
+            positions[i] = MethodHandles.filterReturnValue(
+                    MethodHandles.insertArguments(ELEMENT, 0, i, where, required), convert);
+        }
+        int[] reorder = new int[components.length];     // every argument reads the one source
+        this.byName = MethodHandles.permuteArguments(
+                MethodHandles.filterArguments(constructor, 0, names),
+                methodType(type, object.class), reorder).asType(methodType(Object.class, object.class));
+        this.byPosition = MethodHandles.permuteArguments(
+                MethodHandles.filterArguments(constructor, 0, positions),
+                methodType(type, tuple.class), reorder).asType(methodType(Object.class, tuple.class));
+    }
+
+    /** The binder for {@code type}, built the first time it is asked for. */
+    @SuppressWarnings("unchecked")
+    public static <R> Binder<R> of(Class<R> type) {
+        return (Binder<R>) BINDERS.get(type);
+    }
+
+    public Class<R> type() {
+        return type;
+    }
+
+    /** Binds an object by name or a tuple by position; {@code null} and a null value give null. */
+    public R bind(value source) {
+        return switch (source) {
+            case object o -> bind(o);
+            case tuple t -> bind(t);
+            case value.NullValue n -> null;
+            case null -> null;
+            default -> throw new ClassCastException(
+                    "Cannot bind " + source.getClass().getSimpleName() + " to " + type.getSimpleName());
+        };
+    }
+
+    public R bind(object source) {
+        try {
+            return type.cast(byName.invokeExact(source));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public R bind(tuple source) {
+        try {
+            return type.cast(byPosition.invokeExact(source));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Conversions: each a (value)T handle for the declared component type
+    // ------------------------------------------------------------------ //
+
+    private static MethodHandle converter(Type type, String where) {
+        if (type instanceof Class<?> c) {
+            if (c.isPrimitive()) return primitive(c, where);
+            if (c.isArray()) return arrayOf(c, c.getComponentType(), where);
+            if (c == String.class) return find("string", String.class, value.class);
+            if (c == Long.class || c == Integer.class || c == Short.class || c == Byte.class
+                    || c == Double.class || c == Float.class || c == Boolean.class) {
+                MethodHandle unboxed = primitive(MethodType.methodType(c).unwrap().returnType(), where);
+                return MethodHandles.guardWithTest(IS_NULL,
+                        MethodHandles.dropArguments(MethodHandles.constant(c, null), 0, value.class),
+                        unboxed.asType(methodType(c, value.class)));
+            }
+            if (c.isEnum()) return MethodHandles.insertArguments(find("constant", Enum.class, Class.class, value.class), 0, c)
+                    .asType(methodType(c, value.class));
+            if (c.isRecord()) return MethodHandles.insertArguments(find("nested", Object.class, Class.class, value.class), 0, c)
+                    .asType(methodType(c, value.class));
+            if (c == value.class) return MethodHandles.identity(value.class);
+            if (c == object.class || c == array.class || c == tuple.class) {
+                return MethodHandles.guardWithTest(IS_NULL,
+                        MethodHandles.dropArguments(MethodHandles.constant(c, null), 0, value.class),
+                        MethodHandles.explicitCastArguments(MethodHandles.identity(value.class), methodType(c, value.class)));
+            }
+        } else if (type instanceof ParameterizedType p && p.getRawType() == List.class) {
+            MethodHandle element = converter(p.getActualTypeArguments()[0], where + "[]")
+                    .asType(methodType(Object.class, value.class));
+            return MethodHandles.insertArguments(find("list", List.class, MethodHandle.class, value.class), 0, element);
+        } else if (type instanceof GenericArrayType g && g.getGenericComponentType() instanceof ParameterizedType p) {
+            Class<?> raw = (Class<?>) p.getRawType();
+            return arrayOf(raw.arrayType(), g.getGenericComponentType(), where);
+        }
+        throw new IllegalArgumentException("Cannot bind " + where + " of type " + type.getTypeName());
+    }
+
+    private static MethodHandle primitive(Class<?> c, String where) {
+        String accessor = switch (c.getName()) {
+            case "long" -> "asLong";
+            case "int" -> "asInt";
+            case "short" -> "asShort";
+            case "byte" -> "asByte";
+            case "double" -> "asDouble";
+            case "float" -> "asFloat";
+            case "boolean" -> "asBoolean";
+            default -> throw new IllegalArgumentException("Cannot bind " + where + " of type " + c.getName());
+        };
+        try {
+            return LOOKUP.findVirtual(value.class, accessor, methodType(c));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle arrayOf(Class<?> arrayType, Type component, String where) {
+        if (arrayType == long[].class) return find("longs", long[].class, value.class);
+        if (arrayType == double[].class) return find("doubles", double[].class, value.class);
+        MethodHandle element = converter(component, where + "[]").asType(methodType(Object.class, value.class));
+        MethodHandle filled = MethodHandles.insertArguments(
+                find("fill", Object.class, MethodHandle.class, MethodHandle.class, MethodHandle.class, value.class), 0,
+                MethodHandles.arrayConstructor(arrayType).asType(methodType(Object.class, int.class)),
+                element,
+                MethodHandles.arrayElementSetter(arrayType).asType(methodType(void.class, Object.class, int.class, Object.class)));
+        return filled.asType(methodType(arrayType, value.class));
+    }
+
+    private static MethodHandle find(String name, Class<?> returnType, Class<?>... parameters) {
+        try {
+            return LOOKUP.findStatic(Binder.class, name, methodType(returnType, parameters));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // Targets of the handles above
+    // ------------------------------------------------------------------ //
+
+    private static value field(String name, String where, boolean required, object source) {
+        value v = source.get(name);
+        if (v != null) return v;
+        if (required) throw new IllegalArgumentException("Missing field " + where);
+        return NULL;
+    }
+
+    private static value element(int index, String where, boolean required, tuple source) {
+        if (index < source.size()) return source.get(index);
+        if (required) throw new IllegalArgumentException("Missing element " + index + " for " + where);
+        return NULL;
+    }
+
+    private static boolean isNull(value v) {
+        return v instanceof value.NullValue;
+    }
+
+    private static String string(value v) {
+        return isNull(v) ? null : v.asString();
+    }
+
+    private static Enum<?> constant(Class<?> type, value v) {
+        if (isNull(v)) return null;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Enum<?> e = Enum.valueOf((Class) type, v.asString());
+        return e;
+    }
+
+    private static Object nested(Class<?> type, value v) {
+        return of(type).bind(v);
+    }
+
+    private static List<Object> list(MethodHandle element, value v) throws Throwable {
+        if (isNull(v)) return null;
+        int size = size(v);
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add((Object) element.invokeExact(v.get(i)));
+        return Collections.unmodifiableList(list);
+    }
+
+    private static Object fill(MethodHandle newArray, MethodHandle element, MethodHandle setter, value v) throws Throwable {
+        if (isNull(v)) return null;
+        int size = size(v);
+        Object result = (Object) newArray.invokeExact(size);
+        for (int i = 0; i < size; i++) setter.invokeExact(result, i, (Object) element.invokeExact(v.get(i)));
+        return result;
+    }
+
+    private static long[] longs(value v) {
+        return switch (v) {
+            case array a -> a.asLongArray();
+            case tuple t -> t.asLongArray();
+            case value.NullValue n -> null;
+            default -> throw new ClassCastException("Not an array or tuple");
+        };
+    }
+
+    private static double[] doubles(value v) {
+        return switch (v) {
+            case array a -> a.asDoubleArray();
+            case tuple t -> t.asDoubleArray();
+            case value.NullValue n -> null;
+            default -> throw new ClassCastException("Not an array or tuple");
+        };
+    }
+
+    private static int size(value v) {
+        return switch (v) {
+            case array a -> a.size();
+            case tuple t -> t.size();
+            default -> throw new ClassCastException("Not an array or tuple");
+        };
+    }
+}
@@ -0,0 +1,227 @@
+/// src/main/java/dev/badkraft/anvil/api/EditTracker.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.api;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Attribute;
+import dev.badkraft.anvil.core.data.Dialect;
+import dev.badkraft.anvil.core.data.Source;
+import dev.badkraft.anvil.core.data.Statement;
+import dev.badkraft.anvil.core.data.StringSource;
+import dev.badkraft.anvil.core.data.SymbolTable;
+import dev.badkraft.anvil.core.data.Value;
+import dev.badkraft.anvil.data.attribute;
+import dev.badkraft.anvil.parser.AnvilParser;
+import dev.badkraft.anvil.parser.ParseException;
+import dev.badkraft.anvil.utilities.AnvilConverters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The text behind a {@link root} and where each of its statements sits in it, so that
+ * {@link root#applyEdit} re-parses only the statements an edit touches.
+ * <p>
+ * The text after the header is cut into one segment per statement, each ending where the
+ * statement's value ends: segment {@code k} is {@code [bounds[k], bounds[k + 1])}, so it holds
+ * the gap before statement {@code k} as well as the statement, and the last one runs to the end
+ * of the text. An edit re-parses only the segments it overlaps, from a copy of just that
+ * region; the segments before it are kept and the ones after are shifted. When the re-parsed
+ * region does not stand on its own (the edit ran into the header, the region no longer ends
+ * between two statements, or it fails to parse) the whole text is parsed again, so the result,
+ * and any error, is always that of a full parse.
+ */
+final class EditTracker {
+    private final Dialect dialect;
+    private final String namespace;
+    private final SymbolTable symbols;
+    private final Predicate<List<Attribute>> statementFilter;
+
+    private Source source;              // until the text is first needed
+    private StringBuilder text;
+    private int[] bounds;               // statements + 1 entries; null until the text is known
+    private final List<node> nodes;     // one per statement, duplicate keys included
+
+    private EditTracker(Context context, List<node> nodes) {
+        this.dialect = context.dialect();
+        this.namespace = context.namespace();
+        this.symbols = context.symbols();
+        this.statementFilter = context.statementFilter();
+        this.nodes = new ArrayList<>(nodes);
+    }
+
+    /**
+     * Tracks a parsed context; {@code headerEnd} is where its source stood before the parse.
+     * Mapped sources count positions in bytes rather than chars, so their first edit parses
+     * the decoded text in full.
+     */
+    static EditTracker of(Context context, int headerEnd, List<node> nodes) {
+        EditTracker tracker = new EditTracker(context, nodes);
+        tracker.source = context.source();
+        if (tracker.source instanceof StringSource) {
+            tracker.bounds = bounds(headerEnd, context.statements());
+        }
+        return tracker;
+    }
+
+    /** Tracks a root whose statement spans are not known; its first edit parses the text in full. */
+    static EditTracker of(Context context, List<node> nodes) {
+        EditTracker tracker = new EditTracker(context, nodes);
+        tracker.source = context.source();
+        return tracker;
+    }
+
+    /** Applies the edit to the text and brings {@code target}'s nodes and attributes up to date. */
+    void apply(root target, int offset, int removedLength, String insertedText) {
+        Objects.requireNonNull(insertedText, "insertedText");
+        StringBuilder text = text();
+        Objects.checkFromIndexSize(offset, removedLength, text.length());
+        String removed = text.substring(offset, offset + removedLength);
+        text.replace(offset, offset + removedLength, insertedText);
+        try {
+            if (!reparseRegion(target, offset, removedLength, insertedText.length())) reparse(target);
+        } catch (RuntimeException e) {
+            text.replace(offset, offset + insertedText.length(), removed);
+            throw e;
+        }
+    }
+
+    // Re-parses the segments the edit overlaps, or returns false if they do not stand on their own.
+    private boolean reparseRegion(root target, int offset, int removedLength, int insertedLength) {
+        int n = nodes.size();
+        if (bounds == null || n == 0 || offset <= bounds[0]) return false;
+        int delta = insertedLength - removedLength;
+        int first = segment(offset - 1, n);
+        int last = segment(offset + Math.max(removedLength, 1) - 1, n);
+        int start = bounds[first];
+        int end = last == n - 1 ? text.length() : bounds[last + 1] + delta;
+        // a comma right after a value separates it from the next statement
+        if (first > 0 && text.charAt(start) == ',') start++;
+
+        // parsed from a copy of the region only, so positions are relative to start
+        Context part = context(Source.of(text.substring(start, end)));
+        try {
+            AnvilParser.parse(part);
+        } catch (ParseException e) {
+            return false;               // the full parse reports the error, if there is one
+        }
+        List<Statement> statements = part.statements();
+        int m = statements.size();
+        if (first > 0 && !part.attributes().isEmpty()) return false;   // module attributes open the document
+        if (!endsBetweenStatements(text, start, end, m == 0 ? -1 : start + end(statements.get(m - 1)))) return false;
+
+        int[] shifted = new int[n - (last - first + 1) + m + 1];
+        System.arraycopy(bounds, 0, shifted, 0, first + 1);
+        for (int i = 0; i < m; i++) {
+            shifted[first + 1 + i] = start + end(statements.get(i));
+        }
+        for (int k = last + 2, i = first + 1 + m; k <= n; k++, i++) {
+            shifted[i] = bounds[k] + delta;
+        }
+        List<node> added = statements.stream().map(AnvilConverters::toNode).toList();
+        List<node> region = nodes.subList(first, last + 1);
+        List<node> removed = List.copyOf(region);
+        region.clear();
+        region.addAll(added);
+        target.replace(nodes, removed, added, first == 0 ? attributes(part) : null);
+        bounds = shifted;
+        return true;
+    }
+
+    private StringBuilder text() {
+        if (text == null) {
+            text = new StringBuilder(source.fullSource());
+            source = null;
+        }
+        return text;
+    }
+
+    // The segment holding position p: the last one starting at or before it.
+    private int segment(int p, int n) {
+        int k = Arrays.binarySearch(bounds, 0, n, p);
+        return Math.min(k >= 0 ? k : -k - 2, n - 1);
+    }
+
+    /*
+     * Whether the text after a region that parsed on its own parses as it did before: the region
+     * has to end outside any token, which whitespace or a comment following it guarantees unless
+     * a line comment on its last line runs on past it. A comma there belongs to the statement
+     * before, so the region must end with that statement's value.
+     */
+    private static boolean endsBetweenStatements(CharSequence text, int start, int end, int lastValueEnd) {
+        if (end == text.length()) return true;
+        char c = text.charAt(end);
+        if (c == '\n' || c == '\r') return true;
+        if (c == ',') return lastValueEnd == end;
+        if (!Character.isWhitespace(c) && c != '/') return false;
+        for (int i = end - 1; i > start && text.charAt(i) != '\n' && text.charAt(i) != '\r'; i--) {
+            if (text.charAt(i) == '/' && text.charAt(i - 1) == '/') return false;
+        }
+        return true;
+    }
+
+    private void reparse(root target) {
+        Context context = context(Source.of(text.toString()));
+        int headerEnd = context.source().position();
+        AnvilParser.parse(context);
+        List<node> parsed = context.statements().stream().map(AnvilConverters::toNode).toList();
+
+        List<node> removed = List.copyOf(nodes);
+        nodes.clear();
+        nodes.addAll(parsed);
+        target.replace(nodes, removed, parsed, attributes(context));
+        bounds = bounds(headerEnd, context.statements());
+    }
+
+    private Context context(Source source) {
+        return Context.builder()
+                .source(source)
+                .namespace(namespace)
+                .dialect(dialect)
+                .symbols(symbols)
+                .statementFilter(statementFilter)
+                .build();
+    }
+
+    private static List<attribute> attributes(Context context) {
+        return context.attributes().stream().map(AnvilConverters::toAttribute).toList();
+    }
+
+    private static int[] bounds(int headerEnd, List<Statement> statements) {
+        int[] bounds = new int[statements.size() + 1];
+        bounds[0] = headerEnd;
+        for (int i = 0; i < statements.size(); i++) {
+            bounds[i + 1] = end(statements.get(i));
+        }
+        return bounds;
+    }
+
+    // A string's span is its content; the statement ends after the closing quote.
+    private static int end(Statement statement) {
+        Value value = statement.value();
+        return value instanceof Value.StringValue ? value.end() + 1 : value.end();
+    }
+}
@@ -0,0 +1,111 @@
+/// src/main/java/dev/badkraft/anvil/api/RuntimeBuilder.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.api;
+
+import dev.badkraft.anvil.data.array;
+import dev.badkraft.anvil.data.attribute;
+import dev.badkraft.anvil.data.blob;
+import dev.badkraft.anvil.data.object;
+import dev.badkraft.anvil.data.tuple;
+import dev.badkraft.anvil.data.value;
+import dev.badkraft.anvil.parser.TreeBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the runtime types straight from the parser, for {@link Anvil.AnvilBuilder#direct()}:
+ * the statements become {@link node}s and the module attributes those of the {@link root}.
+ */
+final class RuntimeBuilder implements TreeBuilder<value, attribute> {
+    private static final value NULL = new value.NullValue();
+    private static final value TRUE = new value.BooleanValue(true);
+    private static final value FALSE = new value.BooleanValue(false);
+
+    private final List<node> nodes = new ArrayList<>();
+    private List<attribute> attributes = List.of();
+
+    root root() {
+        return new root(nodes, attributes);
+    }
+
+    @Override
+    public void moduleAttributes(List<attribute> attributes) {
+        this.attributes = List.copyOf(attributes);
+    }
+
+    @Override
+    public void statement(String key, String base, List<attribute> attributes, value value) {
+        nodes.add(new node(key, attributes, value));
+    }
+
+    @Override
+    public attribute attribute(String key, value value) {
+        return new attribute(key, value);
+    }
+
+    @Override
+    public value object(String base, List<String> keys, List<value> values, List<attribute> attributes) {
+        return new object(base, keys, values, attributes);
+    }
+
+    @Override
+    public value array(List<value> elements, List<attribute> attributes) {
+        return new array(elements, attributes);
+    }
+
+    @Override
+    public value tuple(List<value> elements, List<attribute> attributes) {
+        return new tuple(elements, attributes);
+    }
+
+    @Override
+    public value longArray(long[] values, List<attribute> attributes) {
+        return new array(values, attributes);
+    }
+
+    @Override
+    public value longTuple(long[] values, List<attribute> attributes) {
+        return new tuple(values, attributes);
+    }
+
+    @Override
+    public value doubleArray(double[] values, List<attribute> attributes) {
+        return new array(values, attributes);
+    }
+
+    @Override
+    public value doubleTuple(double[] values, List<attribute> attributes) {
+        return new tuple(values, attributes);
+    }
+
+    @Override public value string(String content)       { return new value.StringValue(content); }
+    @Override public value blob(String tag, String text) { return new blob(tag, text); }
+    @Override public value longValue(long value)         { return new value.LongValue(value); }
+    @Override public value doubleValue(double value)     { return new value.DoubleValue(value); }
+    @Override public value hexValue(long value)          { return new value.LongValue(value); }
+    @Override public value booleanValue(boolean value)   { return value ? TRUE : FALSE; }
+    @Override public value nullValue()                   { return NULL; }
+
+    @Override public value bare(String text)             { return new value.BareValue(text); }
+}
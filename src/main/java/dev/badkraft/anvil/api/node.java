@@ -27,14 +27,28 @@ import dev.badkraft.anvil.data.*;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public final class node {
     private final String identifier;
     private final LinkedHashMap<String, attribute> attributes;
-    private final value value;
+    private final List<attribute> attributeList;   // attributes' values, handed out as they are
+    private value value;
+    private volatile Supplier<value> pending;   // lazy nodes: parses the value once, on first use
 
     public node(String identifier, List<attribute> attributes, value value) {
+        this(identifier, attributes);
+        this.value = value;
+    }
+
+    /** A node whose value is produced by {@code value} the first time it is needed. */
+    public node(String identifier, List<attribute> attributes, Supplier<value> value) {
+        this(identifier, attributes);
+        this.pending = value;
+    }
+
+    private node(String identifier, List<attribute> attributes) {
         this.identifier = identifier;
         this.attributes = attributes.stream()
                 .collect(Collectors.toMap(
@@ -43,20 +57,28 @@ public final class node {
                         (a, b) -> a,
                         LinkedHashMap::new
                 ));
-        this.value = value;
+        this.attributeList = List.copyOf(this.attributes.values());
     }
 
     public String identifier() {
         return identifier;
     }
     public List<attribute> attributes() {
-        return List.copyOf(attributes.values());
+        return attributeList;
     }
     public value value() {
+        if (pending != null) {
+            synchronized (this) {
+                if (pending != null) {
+                    value = pending.get();
+                    pending = null;
+                }
+            }
+        }
         return value;
     }
     public boolean hasAttribute(String key) {
-        return switch (value) {
+        return switch (value()) {
             case object obj -> obj.hasAttribute(key);
             case array arr  -> arr.hasAttribute(key);
             case tuple tup  -> tup.hasAttribute(key);
@@ -65,7 +87,7 @@ public final class node {
         };
     }
     public value attribute(String key) {
-        return switch (value) {
+        return switch (value()) {
             case object obj -> obj.attribute(key).value();
             case array arr  -> arr.attribute(key).value();
             case tuple tup  -> tup.attribute(key).value();
@@ -74,21 +96,21 @@ public final class node {
         };
     }
     public value get(String field) {
-        return switch (value) {
+        return switch (value()) {
             case object obj -> obj.get(field);
             case null, default -> {
-                assert value != null;
+                assert value() != null;
                 throw new UnsupportedOperationException(
-                        "Cannot use get(String) on node with value type: " + value.getClass().getSimpleName());
+                        "Cannot use get(String) on node with value type: " + value().getClass().getSimpleName());
             }
         };
     }
     public value get(int index) {
-        return switch (value) {
+        return switch (value()) {
             case array a -> a.get(index);
             case tuple t -> t.get(index);
             default -> throw new UnsupportedOperationException(
-                    "get(int) not supported on " + value.getClass().getSimpleName());
+                    "get(int) not supported on " + value().getClass().getSimpleName());
         };
     }
 }
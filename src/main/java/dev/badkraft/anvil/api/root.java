@@ -24,13 +24,25 @@ package dev.badkraft.anvil.api;
 
 import dev.badkraft.anvil.data.*;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public final class root {
+/**
+ * A parsed document. {@link #nodes()} and {@link #attributes()} are read-only lists kept
+ * alongside the maps, so walking a root copies nothing; being random-access lists, their
+ * spliterators split evenly for parallel streams over the nodes.
+ */
+public final class root implements Iterable<node> {
     private IResolver resolver = IResolver.EMPTY;
     private final LinkedHashMap<String, node> nodes;
     private final LinkedHashMap<String, attribute> attributes;
+    private List<node> nodeList;            // nodes in order; null after an edit until read
+    private List<attribute> attributeList;
+    private EditTracker edits;      // null unless parsed from text that can be edited
 
     public root(List<node> nodes, List<attribute> attributes) {
         this.nodes = nodes.stream()
@@ -47,15 +59,37 @@ public final class root {
                         (a, b) -> a,
                         LinkedHashMap::new
                 ));
+        this.attributeList = List.copyOf(this.attributes.values());
     }
 
     //  [0.1.7] new API stubs
     public List<attribute> attributes() {
         // return immutable list
-        return List.copyOf(attributes.values());
+        return attributeList;
     }
     public List<node> nodes() {
-        return List.copyOf(nodes.values());
+        // immutable, so a racing read at worst builds it twice
+        List<node> list = nodeList;
+        if (list == null) nodeList = list = List.copyOf(nodes.values());
+        return list;
+    }
+    public int size() {
+        return nodes.size();
+    }
+    @Override
+    public @NotNull Iterator<node> iterator() {
+        return nodes().iterator();
+    }
+    @Override
+    public void forEach(Consumer<? super node> action) {
+        nodes().forEach(action);
+    }
+    @Override
+    public Spliterator<node> spliterator() {
+        return nodes().spliterator();
+    }
+    public Stream<node> stream() {
+        return nodes().stream();
     }
     public node node(String key) {
         if (!nodes.containsKey(key)) {
@@ -79,6 +113,59 @@ public final class root {
         return resolver.resolveBase(identifier);
     }
 
+    /**
+     * Replaces {@code removedLength} chars at {@code offset} of the document text with
+     * {@code insertedText} and brings the nodes up to date. Only the top-level statements the
+     * edit touches are parsed again; every other {@link node} is kept as it is, so the work
+     * follows the size of the edit rather than of the document. The result, and any
+     * {@link dev.badkraft.anvil.parser.ParseException} (which leaves this root unchanged), is
+     * that of parsing the edited text in full.
+     *
+     * @throws IllegalStateException if this root was not parsed with {@link Anvil.AnvilBuilder#editable()}
+     */
+    public void applyEdit(int offset, int removedLength, String insertedText) {
+        if (edits == null) {
+            throw new IllegalStateException("root does not track its text; parse it with editable() to edit it");
+        }
+        edits.apply(this, offset, removedLength, insertedText);
+    }
+
+    void track(EditTracker edits) {
+        this.edits = edits;
+    }
+
+    /*
+     * Brings the maps up to date after an edit replaced the statement nodes {@code removed} with
+     * {@code added}; {@code statements} is all of them in order. Node order is statement order
+     * and the first of a duplicate key wins, as in the constructor. When the keys stay the same
+     * only the replaced entries are touched.
+     */
+    void replace(List<node> statements, List<node> removed, List<node> added, List<attribute> moduleAttributes) {
+        if (sameKeys(removed, added)) {
+            for (int i = 0; i < removed.size(); i++) {
+                node old = removed.get(i);
+                if (nodes.get(old.identifier()) == old) nodes.put(old.identifier(), added.get(i));
+            }
+        } else {
+            nodes.clear();
+            for (node n : statements) nodes.putIfAbsent(n.identifier(), n);
+        }
+        if (moduleAttributes != null) {
+            attributes.clear();
+            for (attribute a : moduleAttributes) attributes.putIfAbsent(a.key(), a);
+            attributeList = List.copyOf(attributes.values());
+        }
+        nodeList = null;
+    }
+
+    private static boolean sameKeys(List<node> a, List<node> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).identifier().equals(b.get(i).identifier())) return false;
+        }
+        return true;
+    }
+
     public void setResolver(IResolver resolver) {
         this.resolver = resolver;
     }
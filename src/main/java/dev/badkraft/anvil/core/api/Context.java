@@ -24,12 +24,15 @@ package dev.badkraft.anvil.core.api;
 
 import dev.badkraft.anvil.core.data.*;
 import dev.badkraft.anvil.parser.AnvilParser;
+import dev.badkraft.anvil.parser.ParserSession;
 import dev.badkraft.anvil.utilities.Utils;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public final class Context {
     boolean parsed = false;
@@ -38,13 +41,17 @@ public final class Context {
 
     private final ValueFactory factory;
     private final String namespace;
+    private final SymbolTable symbols;
+    private final Predicate<List<Attribute>> statementFilter;
     private final List<Attribute> attributes = new ArrayList<>();
     private final List<Statement> statements = new ArrayList<>();
-    private final Set<String> exportedIdentifiers = new LinkedHashSet<>();
+    private final BitSet exportedIdentifiers = new BitSet();     // by symbol id
 
     private Context(Builder builder) {
         this.source = Objects.requireNonNull(builder.source, "source required");
         this.namespace = builder.namespace != null ? builder.namespace : Utils.createNamespace();
+        this.symbols = builder.symbols != null ? builder.symbols : new SymbolTable();
+        this.statementFilter = builder.statementFilter;
         loadHeader(builder);
         this.factory = new ValueFactory(this.source);
     }
@@ -53,11 +60,21 @@ public final class Context {
         AnvilParser.parse(this);
     }
 
+    /** Parses through {@code session}, reusing its buffers; see {@link ParserSession}. */
+    public void parse(ParserSession session) {
+        session.parse(this);
+    }
+
+    /** Parses large documents in chunks on {@code pool}; see {@link AnvilParser#parse(Context, ForkJoinPool)}. */
+    public void parse(ForkJoinPool pool) {
+        AnvilParser.parse(this, pool);
+    }
+
     // ------------------------------------------------------------------ //
     // Factory methods used by the parser – all include start/end positions
     // ------------------------------------------------------------------ //
-    public Value string(int start, int end) {
-        return factory.string(start, end);
+    public Value string(int start, int end, boolean escaped) {
+        return factory.string(start, end, escaped);
     }
     public Value bool(boolean b, int start, int end)          { return factory.booleanVal(b, start, end); }
     public Value nullVal(int start, int end)                  { return factory.nullVal(start, end); }
@@ -65,8 +82,8 @@ public final class Context {
     public Value doubleVal(double v, int start, int end)      { return factory.doubleValue(v, start, end); }
     public Value hex(long v, int start, int end)              { return factory.hexValue(v, start, end); }
     public Value bare(int start, int end)        { return factory.bare(start, end); }
-    public Value blob(String attr, int start, int end) {
-        return factory.blob(attr, start, end);
+    public Value blob(String attr, int start, int end, boolean escaped) {
+        return factory.blob(attr, start, end, escaped);
     }
     public Value array(List<Value> elements, List<Attribute> attrs, int start, int end) {
         return factory.array(elements, attrs, start, end);
@@ -83,10 +100,15 @@ public final class Context {
     // ------------------------------------------------------------------ //
     public Source source()               { return source; }
     public String namespace()            { return namespace; }
+    public SymbolTable symbols()         { return symbols; }
+    /** Which statements the parser keeps, judged by their attributes; null keeps all of them. */
+    public Predicate<List<Attribute>> statementFilter() { return statementFilter; }
     public Dialect dialect()             { return dialect; }
     public boolean isParsed()            { return parsed; }
     public List<Statement> statements()  { return List.copyOf(statements); }
-    public Set<String> exportedIdentifiers() { return Set.copyOf(exportedIdentifiers); }
+    public Set<String> exportedIdentifiers() {
+        return exportedIdentifiers.stream().mapToObj(symbols::name).collect(Collectors.toUnmodifiableSet());
+    }
     public Value.Attributes attributes()  { return new Value.Attributes(attributes); }
 
     // ------------------------------------------------------------------ //
@@ -94,8 +116,16 @@ public final class Context {
     // ------------------------------------------------------------------ //
     public void markParsed()               { this.parsed = true; }
     public void addStatement(Statement s)  { statements.add(Objects.requireNonNull(s)); }
-    public void addIdentifier(String id)   { exportedIdentifiers.add(Objects.requireNonNull(id)); }
+    public void addIdentifier(int symbol)  { exportedIdentifiers.set(symbol); }
+    /** Interns {@code id} through {@link #symbols()} first. */
+    public void addIdentifier(String id)   { addIdentifier(symbols.intern(Objects.requireNonNull(id))); }
     public void addAllAttributes(List<Attribute> attrs) { attributes.addAll(attrs); }
+    /** Appends what {@code part} parsed, as if it had been parsed here; joins parallel chunks. */
+    public void addAll(Context part) {
+        attributes.addAll(part.attributes);
+        statements.addAll(part.statements);
+        exportedIdentifiers.or(part.exportedIdentifiers);
+    }
 
     private void loadHeader(Builder builder) {
         source.skipWhitespace();
@@ -114,16 +144,28 @@ public final class Context {
         private Source source;
         private String namespace;
         private Dialect dialect;
+        private SymbolTable symbols;
+        private Predicate<List<Attribute>> statementFilter;
 
         private Builder() {}
-        public Builder source(String s)      { this.source = new Source(s); return this; }
+        public Builder source(String s)      { this.source = Source.of(s); return this; }
+        public Builder source(Source s)      { this.source = s; return this; }
+        /** Large files are memory-mapped rather than read; see {@link Source#MAPPING_THRESHOLD}. */
         public Builder source(Path p) throws IOException {
-            this.source = new Source(Files.readString(p));
+            this.source = Source.load(p);
             this.namespace = this.namespace != null ? this.namespace : Utils.createNamespaceFromPath(p);
             return this;
         }
         public Builder namespace(String ns)  { this.namespace = ns; return this; }
         public Builder dialect(Dialect d)    { this.dialect = d; return this; }
+        /** Shares one table across documents that repeat the same keys; each context gets its own by default. */
+        public Builder symbols(SymbolTable t) { this.symbols = t; return this; }
+        /**
+         * Keeps only the statements whose attributes pass {@code filter}. It runs as soon as a
+         * statement's attribute block is read; the value of a statement it rejects is skipped
+         * without being parsed.
+         */
+        public Builder statementFilter(Predicate<List<Attribute>> filter) { this.statementFilter = filter; return this; }
         public Context build()               { return new Context(this); }
     }
 }
\ No newline at end of file
@@ -29,11 +29,11 @@ import java.util.Map;
 
 public record ValueFactory(Source source) {
 
-    public Value string(int start, int end) {
-        return new Value.StringValue(source, start, end);
+    public Value string(int start, int end, boolean escaped) {
+        return new Value.StringValue(source, start, end, escaped);
     }
-    public Value blob(String attribute, int start, int end) {
-        return new Value.BlobValue(source, attribute, start, end);
+    public Value blob(String attribute, int start, int end, boolean escaped) {
+        return new Value.BlobValue(source, attribute, start, end, escaped);
     }
     public Value booleanVal(boolean b, int start, int end) {
         return new Value.BooleanValue(source, b, start, end);
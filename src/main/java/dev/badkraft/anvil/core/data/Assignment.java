@@ -25,25 +25,48 @@ package dev.badkraft.anvil.core.data;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /*
     An assignment statement, e.g., key := content
+    The key is held as an id in the document's SymbolTable; equality goes by the key's name,
+    so statements from different tables still compare equal.
  */
-public record Assignment(String key, List<Attribute> attributes, Value value) implements Statement {
-    public Assignment(String key, List<Attribute> attributes, Value value) {
-        this.key = key;
+public record Assignment(SymbolTable symbols, int symbol, List<Attribute> attributes, Value value) implements Statement {
+    public Assignment(SymbolTable symbols, int symbol, List<Attribute> attributes, Value value) {
+        this.symbols = symbols;
+        this.symbol = symbol;
         this.attributes = List.copyOf(attributes);
         this.value = value;
     }
+    public Assignment(SymbolTable symbols, String key, List<Attribute> attributes, Value value) {
+        this(symbols, symbols.intern(key), attributes, value);
+    }
+    /** Interns the key into {@link SymbolTable#shared()}. */
+    public Assignment(String key, List<Attribute> attributes, Value value) {
+        this(SymbolTable.shared(), key, attributes, value);
+    }
+
+    public String key() { return symbols.name(symbol); }
 
-    public String identifier() { return key; }
+    public String identifier() { return key(); }
 
     @Override
     public List<Attribute> attributes() {
         return attributes;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Assignment a)) return false;
+        return key().equals(a.key()) && attributes.equals(a.attributes) && Objects.equals(value, a.value);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(key(), attributes, value); }
+
     @Override
     public @NotNull String toString() {
         String attrs = attributes.isEmpty() ? "" :
@@ -51,6 +74,6 @@ public record Assignment(String key, List<Attribute> attributes, Value value) im
             attributes.stream().map(Attribute::toString).collect(Collectors.joining(", ")) +
             "]";
 
-        return key + attrs + " := " + value;
+        return key() + attrs + " := " + value;
     }
 }
@@ -33,24 +33,65 @@ import java.util.Optional;
  *   <li>K-V form:   @{code type=block}</li>
  * </ul>
  * The content, when present, is **not** a nested construct – only a literal (string, number, boolean, null).
+ * The key is held as an id in the document's {@link SymbolTable}.
  */
-public record Attribute(@NotNull String key, Value value) {
-    public Attribute(String key) { this(key, null); }
+public record Attribute(@NotNull SymbolTable symbols, int symbol, Value value) {
+    public Attribute(SymbolTable symbols, int symbol) { this(symbols, symbol, null); }
+    public Attribute(SymbolTable symbols, String key, Value value) { this(symbols, symbols.intern(key), value); }
+    /** Interns the key into {@link SymbolTable#shared()}. */
+    public Attribute(String key, Value value) { this(SymbolTable.shared(), key, value); }
+    /** A tag, interned into {@link SymbolTable#shared()}. */
+    public Attribute(String key) { this(SymbolTable.shared(), key, null); }
+
+    public @NotNull String key() { return symbols.name(symbol); }
 
     @Override
     public @NotNull String toString() {
-        return value == null ? key : key + "=" + value;
+        return value == null ? key() : key() + "=" + value;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Attribute a)) return false;
-        return key.equals(a.key) && Objects.equals(value, a.value);
+        return key().equals(a.key()) && Objects.equals(value, a.value);
     }
 
     @Override
-    public int hashCode() { return Objects.hash(key, value); }
+    public int hashCode() { return Objects.hash(key(), value); }
+
+    // Primitive getters, with no boxing: the default when there is no literal or it is of
+    // another kind; numbers convert as in getValueAs.
+
+    public long getLong(long defaultValue) {
+        return switch (value) {
+            case Value.LongValue l -> l.value();
+            case Value.HexValue h -> h.value();
+            case Value.DoubleValue d -> {
+                double dv = d.value();
+                if (!Double.isFinite(dv) || dv != Math.rint(dv))
+                    throw new ClassCastException("Double value is not an integral number");
+                yield (long) dv;
+            }
+            case null, default -> defaultValue;
+        };
+    }
+
+    public double getDouble(double defaultValue) {
+        return switch (value) {
+            case Value.DoubleValue d -> d.value();
+            case Value.LongValue l -> l.value();
+            case null, default -> defaultValue;
+        };
+    }
+
+    public boolean getBoolean(boolean defaultValue) {
+        return value instanceof Value.BooleanValue b ? b.value() : defaultValue;
+    }
+
+    public String getString(String defaultValue) {
+        return value instanceof Value.StringValue s ? s.content() : defaultValue;
+    }
 
     /**
      * Typed accessor returning an Optional.
@@ -0,0 +1,143 @@
+/// src/main/java/dev/badkraft/anvil/core/data/FieldIndex.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.core.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * The field names of one object in order, with an open-addressing table over them: a lookup is
+ * one hash probe, stepping on only past collisions, and allocates nothing. Values are not held
+ * here; each layer keeps its own in field order, so {@link Value.ObjectValue} and the runtime
+ * object built from it share one index, built once at parse time.
+ * <p>
+ * Only the first of a repeated name is found; {@link #duplicate()} reports the repeat.
+ */
+public final class FieldIndex {
+    public static final FieldIndex EMPTY = new FieldIndex(new String[0], new int[1], null);
+
+    private final String[] keys;
+    private final int[] slots;          // position + 1, 0 for a free slot; a power of two long
+    private final String duplicate;
+
+    private FieldIndex(String[] keys, int[] slots, String duplicate) {
+        this.keys = keys;
+        this.slots = slots;
+        this.duplicate = duplicate;
+    }
+
+    public static FieldIndex of(List<? extends Map.Entry<String, ?>> fields) {
+        String[] keys = new String[fields.size()];
+        for (int i = 0; i < keys.length; i++) keys[i] = fields.get(i).getKey();
+        return of(keys, keys.length);
+    }
+
+    /** Over the first {@code size} names of {@code keys}, which it copies. */
+    public static FieldIndex of(String[] keys, int size) {
+        if (size == 0) return EMPTY;
+        keys = Arrays.copyOf(keys, size);
+        // at most half full, so a miss ends on a free slot within a step or two
+        int[] slots = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+        int mask = slots.length - 1;
+        String duplicate = null;
+        for (int i = 0; i < size; i++) {
+            String key = keys[i];
+            int slot = hash(key) & mask;
+            while (slots[slot] != 0 && !keys[slots[slot] - 1].equals(key)) slot = (slot + 1) & mask;
+            if (slots[slot] == 0) slots[slot] = i + 1;
+            else if (duplicate == null) duplicate = key;
+        }
+        return new FieldIndex(keys, slots, duplicate);
+    }
+
+    public int size()               { return keys.length; }
+    public String key(int i)        { return keys[i]; }
+    /** The first name given more than once, or null. */
+    public String duplicate()       { return duplicate; }
+
+    /** Position of the field, or -1. */
+    public int indexOf(String key) {
+        int mask = slots.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int at = slots[slot] - 1;
+            if (at < 0) return -1;
+            String k = keys[at];
+            if (k == key || k.equals(key)) return at;
+        }
+    }
+
+    public boolean contains(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /** The names in field order, as a read-only view. */
+    public Set<String> keySet() {
+        return new AbstractSet<>() {
+            @Override public @NotNull Iterator<String> iterator() { return List.of(keys).iterator(); }
+            @Override public int size() { return keys.length; }
+            @Override public boolean contains(Object o) { return o instanceof String s && indexOf(s) >= 0; }
+        };
+    }
+
+    /** A read-only map view in field order; {@code valueAt} gives the value at a position. */
+    public <V> Map<String, V> asMap(IntFunction<? extends V> valueAt) {
+        return new AbstractMap<>() {
+            @Override public V get(Object key) {
+                int i = key instanceof String s ? indexOf(s) : -1;
+                return i < 0 ? null : valueAt.apply(i);
+            }
+            @Override public boolean containsKey(Object key) { return key instanceof String s && indexOf(s) >= 0; }
+            @Override public int size() { return keys.length; }
+            @Override public @NotNull Set<Entry<String, V>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override public int size() { return keys.length; }
+                    @Override public @NotNull Iterator<Entry<String, V>> iterator() {
+                        return new Iterator<>() {
+                            private int i;
+                            @Override public boolean hasNext() { return i < keys.length; }
+                            @Override public Entry<String, V> next() {
+                                if (i >= keys.length) throw new NoSuchElementException();
+                                int at = i++;
+                                return Map.entry(keys[at], valueAt.apply(at));
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
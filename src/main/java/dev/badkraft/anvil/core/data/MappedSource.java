@@ -0,0 +1,131 @@
+/// src/main/java/dev/badkraft/anvil/core/data/MappedSource.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.core.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Memory-mapped source over the raw UTF-8 bytes of a file.
+ * <p>
+ * Nothing is decoded up front: the scanner walks bytes, positions are byte offsets,
+ * and text is only decoded when {@link #substring(int, int)} is asked for a slice.
+ * Every AML delimiter is ASCII, so a byte never gets mistaken for one; bytes of a
+ * multi-byte UTF-8 sequence are all {@code >= 0x80} and classify as letters, which
+ * keeps non-ASCII identifiers and bare literals in one piece.
+ * <p>
+ * Bulk scans read eight bytes at a time as a little-endian {@code long} and test
+ * all of them at once with SWAR (SIMD-within-a-register) arithmetic.
+ */
+public final class MappedSource extends Source {
+
+    private static final long ONES   = 0x0101010101010101L;
+    private static final long HIGHS  = 0x8080808080808080L;
+    private static final long SPACES = 0x2020202020202020L;
+
+    private final ByteBuffer bytes;
+    private final int length;
+
+    private MappedSource(ByteBuffer bytes) {
+        this.bytes = bytes.order(ByteOrder.LITTLE_ENDIAN);
+        this.length = bytes.limit();
+    }
+
+    // slices share the mapping; every read is absolute, so they never disturb each other
+    private MappedSource(ByteBuffer bytes, int start, int end) {
+        Objects.checkFromToIndex(start, end, bytes.limit());
+        this.bytes = bytes;
+        this.length = end;
+        setPosition(start);
+    }
+
+    static MappedSource open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map (" + size + " bytes): " + path);
+            }
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedSource(buffer);
+        }
+    }
+
+    @Override
+    protected char charAt(int idx) { return (char) (bytes.get(idx) & 0xFF); }
+
+    @Override
+    public int length() { return length; }
+
+    @Override
+    public String substring(int start, int end) {
+        byte[] slice = new byte[end - start];
+        bytes.get(start, slice);
+        return new String(slice, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Source slice(int start, int end) { return new MappedSource(bytes, start, end); }
+
+    @Override
+    protected boolean isLetter(char c)        { return true; }
+    @Override
+    protected boolean isLetterOrDigit(char c) { return true; }
+
+    @Override
+    public int indexOf(char c, int from) {
+        return indexOf(c, from, length);
+    }
+
+    @Override
+    public int indexOf(char c, int from, int to) {
+        if (c > 0xFF) return -1;
+        long pattern = ONES * c;
+        int i = from;
+        for (; i <= to - Long.BYTES; i += Long.BYTES) {
+            long word = bytes.getLong(i) ^ pattern;            // matching bytes become 0
+            long zeros = (word - ONES) & ~word & HIGHS;         // high bit set on the first zero byte
+            if (zeros != 0) return i + (Long.numberOfTrailingZeros(zeros) >>> 3);
+        }
+        for (; i < to; i++) {
+            if ((bytes.get(i) & 0xFF) == c) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int whitespaceEnd(int from) {
+        int i = from;
+        // indentation is the long case: step over runs of eight spaces
+        while (i <= length - Long.BYTES && bytes.getLong(i) == SPACES) i += Long.BYTES;
+        while (i < length && isWhitespace((char) (bytes.get(i) & 0xFF))) i++;
+        return i;
+    }
+}
@@ -23,42 +23,145 @@
 // dev.badkraft.anvil.core.data.Source.java
 package dev.badkraft.anvil.core.data;
 
-import java.util.Objects;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * Immutable source view. Zero shared mutable state.
  * All interrogators return either boolean or int length.
  * No String materialization unless explicitly requested via substring().
+ * <p>
+ * Storage is pluggable: {@link StringSource} scans UTF-16 chars of an in-memory
+ * {@code String}, {@link MappedSource} scans the UTF-8 bytes of a memory-mapped file,
+ * and {@link StreamSource} scans UTF-8 bytes through a bounded window over a channel.
+ * Positions are storage units (chars or bytes); everything above this class only
+ * ever sees positions, so the parser does not care which one it is walking.
+ * <p>
+ * Only the position is tracked while scanning. Line and column are diagnostics,
+ * computed on demand from a line-start index that is built the first time one is asked for.
  */
-public final class Source {
+public abstract sealed class Source permits StringSource, MappedSource, StreamSource {
+
+    /** Files at or above this size are memory-mapped instead of read onto the heap. */
+    public static final long MAPPING_THRESHOLD = 1L << 20;
 
-    private final String source;
     private int pos = 0;
-    private int line = 1;
-    private int col = 1;
+    private volatile int[] lineStarts;
+
+    // --- Factories ---
+    public static Source of(String source) {
+        return new StringSource(source);
+    }
+
+    public static Source map(Path path) throws IOException {
+        return MappedSource.open(path);
+    }
+
+    /** Streams from {@code channel} through a window of {@link StreamSource#DEFAULT_WINDOW} bytes. */
+    public static Source stream(ReadableByteChannel channel) {
+        return stream(channel, StreamSource.DEFAULT_WINDOW);
+    }
 
-    public Source(String source) {
-        this.source = Objects.requireNonNull(source, "source cannot be null");
+    public static Source stream(ReadableByteChannel channel, int windowSize) {
+        return new StreamSource(channel, windowSize);
+    }
+
+    public static Source stream(InputStream in) {
+        return stream(Channels.newChannel(in));
+    }
+
+    /**
+     * Reads small files onto the heap and memory-maps anything at or above
+     * {@link #MAPPING_THRESHOLD}.
+     */
+    public static Source load(Path path) throws IOException {
+        return Files.size(path) >= MAPPING_THRESHOLD
+                ? map(path)
+                : of(Files.readString(path));
+    }
+
+    // --- Storage primitives ---
+    /** Storage unit at {@code idx}; callers guarantee {@code 0 <= idx < length()}. */
+    protected abstract char charAt(int idx);
+    public abstract int length();
+    /** Materializes the storage units in {@code [start, end)} as a String. */
+    public abstract String substring(int start, int end);
+
+    /**
+     * True when {@code idx} lies inside the input. Every end-of-input check goes
+     * through here, so a source that only learns its length by reading can say so.
+     */
+    protected boolean has(int idx) { return idx < length(); }
+
+    /**
+     * False when text is not kept for the whole parse: values then copy their own
+     * slice when they are created instead of reading it back later.
+     */
+    public boolean retainsText() { return true; }
+
+    /** Hint that nothing before {@code position} will be read again. */
+    public void release(int position) {}
+
+    /**
+     * A second cursor over the same storage, positioned at {@code start} and ending at
+     * {@code end}. Positions stay absolute, so spans read from either one agree. Only
+     * sources that keep their text can be sliced.
+     */
+    public Source slice(int start, int end) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot be sliced");
     }
 
     // --- Position & EOF ---
     public int position() { return pos; }
-    public int line()     { return line; }
-    public int column()   { return col; }
-    public boolean isEOF() { return pos >= source.length(); }
-    public boolean isEOF(int offset) { return pos + offset >= source.length(); }
+    public int line()     { return lineAt(pos); }
+    public int column()   { return columnAt(pos); }
+    public boolean isEOF() { return !has(pos); }
+    public boolean isEOF(int offset) { return !has(pos + offset); }
 
-    public void setPosition(int pos, int line, int col) {
+    public void setPosition(int pos) {
         this.pos = pos;
-        this.line = line;
-        this.col = col;
+    }
+
+    // --- Line & column (lazy, diagnostics only) ---
+    public int lineAt(int position) {
+        return lineIndex(position) + 1;
+    }
+
+    public int columnAt(int position) {
+        return position - lineStarts()[lineIndex(position)] + 1;
+    }
+
+    private int lineIndex(int position) {
+        int[] starts = lineStarts();
+        int i = Arrays.binarySearch(starts, position);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private int[] lineStarts() {
+        int[] starts = lineStarts;
+        if (starts == null) {
+            int count = 1;
+            starts = new int[16];
+            for (int i = 0, n = length(); i < n; i++) {
+                if (charAt(i) != '\n') continue;
+                if (count == starts.length) starts = Arrays.copyOf(starts, count * 2);
+                starts[count++] = i + 1;
+            }
+            lineStarts = starts = Arrays.copyOf(starts, count);
+        }
+        return starts;
     }
 
     // --- Character peek ---
     public char peek() { return peek(0); }
     public char peek(int offset) {
         int idx = pos + offset;
-        return idx < source.length() ? source.charAt(idx) : '\0';
+        return has(idx) ? charAt(idx) : '\0';
     }
 
     // --- Exact string match (boolean) ---
@@ -68,7 +171,7 @@ public final class Source {
         for (int i = 0; i < s.length(); i++) {
             if (peek(offset + i) != s.charAt(i)) return false;
         }
-        return pos + offset + s.length() <= source.length();
+        return has(pos + offset + s.length() - 1);
     }
 
     public boolean is(char c) { return peek() == c; }
@@ -78,17 +181,100 @@ public final class Source {
     public boolean isOperator(Operator op) { return is(op.symbol()); }
 
     // --- Character classification ---
-    public boolean isAlpha(char c)          { return Character.isLetter(c) || c == '_'; }
-    public boolean isDigit(char c)          { return c >= '0' && c <= '9'; }
-    public boolean isHexDigit(char c)       { return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'); }
-    public boolean isIdentifierStart(char c) { return Character.isLetter(c) || c == '_'; }
-    public boolean isIdentifierPart(char c)  { return Character.isLetterOrDigit(c) || c == '_' || c == '.'; }
+    // ASCII goes through a 128-entry class table; only non-ASCII falls back to
+    // isLetter()/isLetterOrDigit(), which storage-specific sources may override.
+    private static final byte ALPHA       = 1;
+    private static final byte DIGIT       = 1 << 1;
+    private static final byte HEX         = 1 << 2;
+    private static final byte IDENT_START = 1 << 3;
+    private static final byte IDENT_PART  = 1 << 4;
+    private static final byte BARE_PART   = 1 << 5;
+    private static final byte WHITESPACE  = 1 << 6;
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            mark(c, ALPHA | IDENT_START | IDENT_PART | BARE_PART);
+            mark(Character.toUpperCase(c), ALPHA | IDENT_START | IDENT_PART | BARE_PART);
+        }
+        for (char c = '0'; c <= '9'; c++) mark(c, DIGIT | HEX | IDENT_PART | BARE_PART);
+        for (char c = 'a'; c <= 'f'; c++) mark(c, HEX);
+        for (char c = 'A'; c <= 'F'; c++) mark(c, HEX);
+        mark('_', ALPHA | IDENT_START | IDENT_PART | BARE_PART);
+        mark('.', IDENT_PART | BARE_PART);
+        mark(':', BARE_PART);
+        mark(' ', WHITESPACE);
+        mark('\t', WHITESPACE);
+        mark('\r', WHITESPACE);
+        mark('\n', WHITESPACE);
+    }
+
+    private static void mark(char c, int flags) {
+        CLASSES[c] |= (byte) flags;
+    }
+
+    private static boolean has(char c, byte flag) {
+        return (CLASSES[c] & flag) != 0;
+    }
+
+    public boolean isAlpha(char c)            { return c < 0x80 ? has(c, ALPHA) : isLetter(c); }
+    public boolean isDigit(char c)            { return c < 0x80 && has(c, DIGIT); }
+    public boolean isHexDigit(char c)         { return c < 0x80 && has(c, HEX); }
+    public boolean isWhitespace(char c)       { return c < 0x80 && has(c, WHITESPACE); }
+    public boolean isIdentifierStart(char c)  { return c < 0x80 ? has(c, IDENT_START) : isLetter(c); }
+    public boolean isIdentifierPart(char c)   { return c < 0x80 ? has(c, IDENT_PART) : isLetterOrDigit(c); }
+    public boolean isBareLiteralPart(char c)  { return c < 0x80 ? has(c, BARE_PART) : isLetterOrDigit(c); }
+
+    /** Non-ASCII fallback for {@link #isAlpha} and {@link #isIdentifierStart}. */
+    protected boolean isLetter(char c)        { return Character.isLetter(c); }
+    /** Non-ASCII fallback for {@link #isIdentifierPart} and {@link #isBareLiteralPart}. */
+    protected boolean isLetterOrDigit(char c) { return Character.isLetterOrDigit(c); }
+
+    // --- Bulk scanning ---
+    // Storage-specific sources override these with wide scans; the defaults are
+    // the plain per-char loops.
+
+    /** Absolute index of the next {@code c} at or after {@code from}, or -1. */
+    public int indexOf(char c, int from) {
+        for (int i = from; has(i); i++) {
+            if (charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    /** Absolute index of the next {@code c} in {@code [from, to)}, or -1. */
+    public int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    /** Absolute index of the first non-whitespace char at or after {@code from}. */
+    public int whitespaceEnd(int from) {
+        int i = from;
+        for (; has(i) && isWhitespace(charAt(i)); i++);
+        return i;
+    }
 
     // --- Escape detection ---
+    /**
+     * Absolute index of the next {@code close} at or after {@code from} that is not
+     * escaped, or -1. One forward pass: a backslash escapes whatever follows it.
+     */
+    public int indexOfUnescaped(char close, int from) {
+        for (int i = from; has(i); i++) {
+            char c = charAt(i);
+            if (c == '\\') i++;
+            else if (c == close) return i;
+        }
+        return -1;
+    }
+
     public boolean isEscaped(int pos) {
         if (pos <= 0) return false;
         int backslashes = 0;
-        for (int i = pos - 1; i >= 0 && source.charAt(i) == '\\'; i--) {
+        for (int i = pos - 1; i >= 0 && charAt(i) == '\\'; i--) {
             backslashes++;
         }
         return backslashes % 2 == 1;
@@ -115,13 +301,11 @@ public final class Source {
     // --- Consume ---
     public char consume() {
         if (isEOF()) return '\0';
-        char c = source.charAt(pos++);
-        if (c == '\n') { line++; col = 1; } else col++;
-        return c;
+        return charAt(pos++);
     }
 
     public void consume(int n) {
-        for (int i = 0; i < n; i++) consume();
+        if (!isEOF()) pos = has(pos + n - 1) ? pos + n : length();
     }
 
     public void consumeOperator(Operator op) {
@@ -129,12 +313,8 @@ public final class Source {
     }
 
     // --- String extraction (only place we materialize) ---
-    public String substring(int start, int end) {
-        return source.substring(start, end);
-    }
-
     public String substringFrom(int start) {
-        return source.substring(start, source.length());
+        return substring(start, length());
     }
 
     // --- Whitespace & comments (length only) ---
@@ -151,43 +331,95 @@ public final class Source {
     }
 
     private int scanWhitespaceLength(int offset) {
-        int len = 0;
-        while (!isEOF(offset + len)) {
-            char c = peek(offset + len);
-            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') len++;
-            else break;
-        }
-        return len;
+        int from = pos + offset;
+        return has(from) ? whitespaceEnd(from) - from : 0;
     }
 
     private int scanLineCommentLength(int offset) {
         if (!is("//", offset)) return 0;
-        int len = 2;
-        while (!isEOF(offset + len) && peek(offset + len) != '\n') len++;
-        return len;
+        int from = pos + offset;
+        int eol = indexOf('\n', from + 2);
+        return (eol < 0 ? length() : eol) - from;
     }
 
     private int scanBlockCommentLength(int offset) {
         if (!is("/*", offset)) return 0;
-        int len = 2;
+        int from = pos + offset;
+        int end = blockCommentEnd(from);
+        return end < 0 ? 0 : end - from;            // incomplete block comment → not skipped
+    }
+
+    // End of the (nested) block comment opening at from, or -1 if it never closes.
+    private int blockCommentEnd(int from) {
+        int i = from + 2;
         int depth = 1;
-        while (depth > 0 && !isEOF(offset + len)) {
-            if (is("*/", offset + len)) { len += 2; depth--; }
-            else if (is("/*", offset + len)) { len += 2; depth++; }
-            else len++;
+        // both "/*" and "*/" contain a '*', so jump from star to star
+        while (depth > 0) {
+            int star = indexOf('*', i);
+            if (star < 0) return -1;
+            if (star > i && charAt(star - 1) == '/') { depth++; i = star + 1; }
+            else if (has(star + 1) && charAt(star + 1) == '/') { depth--; i = star + 2; }
+            else i = star + 1;
         }
-        return depth == 0 ? len : 0; // incomplete block comment → not skipped
+        return i;
     }
 
     public void skipWhitespace() {
         consume(skipWhitespaceAndComments());
     }
 
+    // --- Top-level lines ---
+    /**
+     * Absolute index of the first non-blank char of the first line at or after {@code target}
+     * that starts with an identifier at bracket depth 0, or -1. Scanning starts at {@code from},
+     * which must itself be at depth 0 and outside any literal or comment; strings, blobs and
+     * comments are stepped over the way the lexer reads them. One char at a time, no tokens.
+     */
+    public int topLevelLine(int from, int target) {
+        int n = length();
+        int depth = 0;
+        boolean lineStart = false;
+        for (int i = from; i < n; i++) {
+            char c = charAt(i);
+            if (lineStart) {
+                if (c == ' ' || c == '\t' || c == '\r') continue;
+                lineStart = false;
+                if (depth == 0 && i >= target && isIdentifierStart(c)) return i;
+            }
+            switch (c) {
+                case '\n' -> lineStart = true;
+                case '{', '[', '(' -> depth++;
+                case '}', ']', ')' -> { if (depth > 0) depth--; }
+                case '"', '`' -> {
+                    // the lexer's search: the first candidate, unless a backslash comes before it
+                    int close = indexOf(c, i + 1);
+                    int slash = close < 0 ? -1 : indexOf('\\', i + 1, close);
+                    i = slash >= 0 ? indexOfUnescaped(c, slash) : close;
+                    if (i < 0) return -1;
+                }
+                case '/' -> {
+                    if (i + 1 >= n) return -1;
+                    if (charAt(i + 1) == '/') {
+                        i = indexOf('\n', i + 2);
+                        if (i < 0) return -1;
+                        lineStart = true;
+                    } else if (charAt(i + 1) == '*') {
+                        int end = blockCommentEnd(i);
+                        if (end < 0) return -1;
+                        i = end - 1;
+                    }
+                }
+                default -> {}
+            }
+        }
+        return -1;
+    }
+
     // --- Dialect from shebang ---
     public Dialect parseDialect(Dialect hint) {
         skipWhitespace();
         if (isShebang()) {
-            String token = source.substring(pos, pos + 5);
+            String token = substring(pos, pos + 5);
             consume(5);
             return Dialect.fromShebang(token);
         }
@@ -196,16 +428,13 @@ public final class Source {
 
     public void reset() {
         pos = 0;
-        line = 1;
-        col = 1;
     }
 
-    public String fullSource() { return source; }
-    public int length() { return source.length();}
+    public String fullSource() { return substring(0, length()); }
 
     @Override
     public String toString() {
-        return "Source[pos=%d, line=%d, col=%d, len=%d]".formatted(pos, line, col, source.length());
+        return "Source[pos=%d, line=%d, col=%d, len=%d]".formatted(pos, line(), column(), length());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+/// src/main/java/dev/badkraft/anvil/core/data/StreamSource.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.core.data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming source over the UTF-8 bytes of a {@link ReadableByteChannel}.
+ * <p>
+ * Bytes live in one refillable window. Positions stay absolute byte offsets; the
+ * window only ever slides forward, dropping what lies before the last
+ * {@link #release(int)} mark when it needs room, and grows only when a single
+ * token is larger than it. Memory is bounded by the window, not by the input.
+ * <p>
+ * Text is not retained, so values copy their own slice when they are created
+ * ({@link #retainsText()}), and only positions still in the window can be read.
+ * Line and column are counted as bytes are dropped rather than from a full index.
+ * Byte classification follows {@link MappedSource}.
+ */
+public final class StreamSource extends Source {
+
+    public static final int DEFAULT_WINDOW = 64 << 10;
+
+    private final ReadableByteChannel channel;
+    private byte[] window;
+    private int base;           // absolute position of window[0]
+    private int limit;          // valid bytes in the window
+    private int mark;           // everything before this may be dropped
+    private boolean eof;
+
+    // diagnostics for dropped bytes
+    private int droppedLines;
+    private int droppedLineStart;
+
+    StreamSource(ReadableByteChannel channel, int windowSize) {
+        if (windowSize <= 0) throw new IllegalArgumentException("window size must be positive");
+        this.channel = channel;
+        this.window = new byte[windowSize];
+    }
+
+    @Override
+    protected char charAt(int idx) {
+        int i = idx - base;
+        if (i < 0) throw dropped(idx);
+        if (i >= limit && !fill(idx)) throw new IndexOutOfBoundsException(idx);
+        return (char) (window[idx - base] & 0xFF);
+    }
+
+    @Override
+    protected boolean has(int idx) {
+        return idx < base + limit || fill(idx);
+    }
+
+    /** Total length once the end of input has been read; until then, the end of the window. */
+    @Override
+    public int length() { return base + limit; }
+
+    @Override
+    public String substring(int start, int end) {
+        // reading up to end can drop the window's head, so start is checked only after it
+        if (end > start && !has(end - 1)) throw new IndexOutOfBoundsException(end);
+        if (start < base) throw dropped(start);
+        return new String(window, start - base, end - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean retainsText() { return false; }
+
+    @Override
+    public void release(int position) {
+        if (position > mark) mark = position;
+    }
+
+    @Override
+    protected boolean isLetter(char c)        { return true; }
+    @Override
+    protected boolean isLetterOrDigit(char c) { return true; }
+
+    @Override
+    public int lineAt(int position) {
+        int line = droppedLines + 1;
+        for (int i = 0, n = Math.min(position, base + limit) - base; i < n; i++) {
+            if (window[i] == '\n') line++;
+        }
+        return line;
+    }
+
+    @Override
+    public int columnAt(int position) {
+        int lineStart = droppedLineStart;
+        for (int i = Math.min(position, base + limit) - base - 1; i >= 0; i--) {
+            if (window[i] == '\n') { lineStart = base + i + 1; break; }
+        }
+        return position - lineStart + 1;
+    }
+
+    // Reads until idx is in the window; false when the input ends first.
+    private boolean fill(int idx) {
+        while (!eof && idx >= base + limit) {
+            if (limit == window.length) makeRoom();
+            try {
+                int n = channel.read(ByteBuffer.wrap(window, limit, window.length - limit));
+                if (n < 0) eof = true;
+                else limit += n;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (base + limit < 0) throw new IllegalStateException("Input exceeds 2 GiB");
+        }
+        return idx < base + limit;
+    }
+
+    // Drops bytes before the mark; grows the window if nothing can go.
+    private void makeRoom() {
+        int drop = Math.min(mark, Math.min(position(), base + limit)) - base;
+        if (drop <= 0) {
+            window = Arrays.copyOf(window, window.length * 2);
+            return;
+        }
+        for (int i = 0; i < drop; i++) {
+            if (window[i] == '\n') {
+                droppedLines++;
+                droppedLineStart = base + i + 1;
+            }
+        }
+        System.arraycopy(window, drop, window, 0, limit - drop);
+        base += drop;
+        limit -= drop;
+    }
+
+    private IllegalStateException dropped(int idx) {
+        return new IllegalStateException("Position " + idx + " is no longer buffered (window starts at " + base + ")");
+    }
+}
@@ -0,0 +1,71 @@
+/// src/main/java/dev/badkraft/anvil/core/data/StringSource.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.core.data;
+
+import java.util.Objects;
+
+/**
+ * Heap-backed source over a {@code String}. Positions are UTF-16 char indices.
+ */
+public final class StringSource extends Source {
+
+    private final String source;
+    private final int length;       // shorter than the string for a slice
+
+    StringSource(String source) {
+        this.source = Objects.requireNonNull(source, "source cannot be null");
+        this.length = source.length();
+    }
+
+    private StringSource(String source, int start, int end) {
+        Objects.checkFromToIndex(start, end, source.length());
+        this.source = source;
+        this.length = end;
+        setPosition(start);
+    }
+
+    @Override
+    protected char charAt(int idx) { return source.charAt(idx); }
+
+    @Override
+    public int length() { return length; }
+
+    @Override
+    public String substring(int start, int end) {
+        return source.substring(start, end);
+    }
+
+    @Override
+    public String fullSource() { return length == source.length() ? source : source.substring(0, length); }
+
+    @Override
+    public Source slice(int start, int end) { return new StringSource(source, start, end); }
+
+    // String.indexOf(char) is a JIT intrinsic that compares many chars per instruction
+    @Override
+    public int indexOf(char c, int from) { return source.indexOf(c, from, length); }
+
+    @Override
+    public int indexOf(char c, int from, int to) { return source.indexOf(c, from, to); }
+
+}
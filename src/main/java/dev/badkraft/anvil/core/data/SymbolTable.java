@@ -0,0 +1,174 @@
+/// src/main/java/dev/badkraft/anvil/core/data/SymbolTable.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.core.data;
+
+import java.util.Arrays;
+
+/**
+ * Interns identifiers as small dense int ids, straight from a {@link Source} slice.
+ * <p>
+ * Lookup hashes the slice in place and probes an open-addressed table, so a name
+ * already seen costs no allocation; its String is created once, when first interned,
+ * and {@link #name(int)} hands back that same instance from then on.
+ * <p>
+ * One table can serve any number of documents, on any number of threads: lookups
+ * read a published snapshot without locking, inserts are serialised. Ids are never
+ * reused or removed.
+ */
+public final class SymbolTable {
+
+    private static final class State {
+        final int[] slots;          // id + 1, 0 = empty
+        final String[] names;       // by id
+        final int[] hashes;         // by id
+
+        State(int capacity) {
+            slots = new int[capacity * 2];
+            names = new String[capacity];
+            hashes = new int[capacity];
+        }
+    }
+
+    private static final SymbolTable SHARED = new SymbolTable();
+
+    private volatile State state;
+    private int size;               // guarded by this
+
+    /**
+     * The table behind the String constructors of {@link Assignment} and {@link Attribute},
+     * for statements built by hand rather than parsed. Like any table it only grows.
+     */
+    public static SymbolTable shared() {
+        return SHARED;
+    }
+
+    public SymbolTable() {
+        this(256);
+    }
+
+    public SymbolTable(int expectedSymbols) {
+        this.state = new State(Integer.highestOneBit(Math.max(16, expectedSymbols) - 1) << 1);
+    }
+
+    /** The id of {@code source[start, end)}, interning it first if it is new. */
+    public int intern(Source source, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c >= 0x80) return intern(source.substring(start, end));   // byte sources: decode first
+            h = 31 * h + c;
+        }
+        h = mix(h);
+
+        State s = state;
+        int mask = s.slots.length - 1;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int id = s.slots[i] - 1;
+            if (id < 0) break;
+            String name = s.names[id];
+            if (name == null) break;                    // insert in flight, take the lock
+            if (s.hashes[id] == h && matches(source, start, end, name)) return id;
+        }
+        return insert(source.substring(start, end), h);
+    }
+
+    /** The id of {@code name}, interning it first if it is new. */
+    public int intern(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) h = 31 * h + name.charAt(i);
+        h = mix(h);
+        int id = find(state, name, h);
+        return id >= 0 ? id : insert(name, h);
+    }
+
+    /** The id of {@code name}, or -1 if it has never been interned. */
+    public int lookup(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) h = 31 * h + name.charAt(i);
+        return find(state, name, mix(h));
+    }
+
+    public String name(int id) {
+        return state.names[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized int insert(String name, int h) {
+        int id = find(state, name, h);                  // lost a race, or a stale snapshot
+        if (id >= 0) return id;
+
+        State s = state;
+        if (size == s.names.length) s = grow(s);
+        id = size++;
+        s.names[id] = name;
+        s.hashes[id] = h;
+        place(s, id, h);
+        return id;
+    }
+
+    private State grow(State old) {
+        State s = new State(old.names.length * 2);
+        System.arraycopy(old.names, 0, s.names, 0, size);
+        System.arraycopy(old.hashes, 0, s.hashes, 0, size);
+        for (int id = 0; id < size; id++) place(s, id, s.hashes[id]);
+        state = s;
+        return s;
+    }
+
+    private static void place(State s, int id, int h) {
+        int mask = s.slots.length - 1;
+        int i = h & mask;
+        while (s.slots[i] != 0) i = (i + 1) & mask;
+        s.slots[i] = id + 1;
+    }
+
+    private static int find(State s, String name, int h) {
+        int mask = s.slots.length - 1;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int id = s.slots[i] - 1;
+            if (id < 0) return -1;
+            if (s.hashes[id] == h && name.equals(s.names[id])) return id;
+        }
+    }
+
+    private static boolean matches(Source source, int start, int end, String name) {
+        if (name.length() != end - start) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (source.charAt(start + i) != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public String toString() {
+        State s = state;
+        return "SymbolTable" + Arrays.toString(Arrays.copyOf(s.names, size()));
+    }
+}
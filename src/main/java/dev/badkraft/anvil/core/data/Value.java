@@ -34,9 +34,9 @@ public sealed interface Value
 
     default Attributes getAttributes() {
         return switch (this) {
-            case ArrayValue a -> new Attributes(a.attributes);
-            case TupleValue t -> new Attributes(t.attributes);
-            case ObjectValue o -> new Attributes(o.attributes);
+            case ArrayValue a -> a.attributes;
+            case TupleValue t -> t.attributes;
+            case ObjectValue o -> o.attributes;
             default -> throw new UnsupportedOperationException(
                     "Attributes not supported on " + getClass().getSimpleName());
         };
@@ -50,34 +50,166 @@ public sealed interface Value
         }
     }
     default Attribute findAttribute(String key) {
-        return getAttributes().find(key).orElse(null);
+        return getAttributes().attribute(key);
+    }
+
+    // Primitive attribute getters: allocate nothing, and give the default on values that
+    // cannot carry attributes as well as for a missing key.
+    default long getLongAttr(String key, long defaultValue) {
+        Attribute a = attributeOrNull(key);
+        return a == null ? defaultValue : a.getLong(defaultValue);
+    }
+    default double getDoubleAttr(String key, double defaultValue) {
+        Attribute a = attributeOrNull(key);
+        return a == null ? defaultValue : a.getDouble(defaultValue);
+    }
+    default boolean getBooleanAttr(String key, boolean defaultValue) {
+        Attribute a = attributeOrNull(key);
+        return a == null ? defaultValue : a.getBoolean(defaultValue);
+    }
+    default String getStringAttr(String key, String defaultValue) {
+        Attribute a = attributeOrNull(key);
+        return a == null ? defaultValue : a.getString(defaultValue);
+    }
+    default boolean hasAttribute(String key) {
+        return attributeOrNull(key) != null;
+    }
+
+    private Attribute attributeOrNull(String key) {
+        return switch (this) {
+            case ArrayValue a -> a.attributes.attribute(key);
+            case TupleValue t -> t.attributes.attribute(key);
+            case ObjectValue o -> o.attributes.attribute(key);
+            default -> null;
+        };
     }
 
     int start();
     int end();
 
+    // A composite's text when its source has dropped it: the spans of a streamed document are
+    // gone once the window slides past, so the children are printed instead.
+    private static String render(String open, List<Value> elements, String close) {
+        StringJoiner out = new StringJoiner(", ", open, close);
+        for (Value element : elements) out.add(text(element));
+        return out.toString();
+    }
+    // A string's own toString is its content; inside a composite it needs its quotes back.
+    private static String text(Value value) {
+        return value instanceof StringValue ? '"' + value.toString() + '"' : value.toString();
+    }
+
+    /**
+     * The attributes on one value, in order: the attributes and their keys in two compact
+     * arrays, searched linearly while there are few of them and through a {@link FieldIndex}
+     * past that. Lookups and the primitive getters allocate nothing.
+     * <p>
+     * The list given to the constructor is copied, not wrapped: add to a value's attributes
+     * through {@link #add} and {@link #addAll}, and read them as a {@code List} through
+     * {@link #asList()}.
+     */
     final class Attributes implements Iterable<Attribute> {
-        private final List<Attribute> backing;
-        public Attributes(List<Attribute> backing) {
-            this.backing = Objects.requireNonNullElse(backing, new ArrayList<>());
-        }
-        public void add(Attribute attribute) { backing.add(attribute); }
-        public void addAll(List<Attribute> attributes) { backing.addAll(attributes); }
-        public boolean isEmpty() { return backing.isEmpty(); }
-        public int size() { return backing.size(); }
-        public Attribute get(int index) { return backing.get(index); }
-        public boolean has(String key) { return backing.stream().anyMatch(a -> a.key().equals(key)); }
-        public boolean hasTag(String key) { return backing.stream().anyMatch(a -> a.key().equals(key) && a.value() == null); }
-        public Optional<Attribute> find(String key) { return backing.stream().filter(a -> a.key().equals(key)).findFirst(); }
-        public Stream<Attribute> stream() { return backing.stream(); }
+        private static final int LINEAR = 8;
+        private static final Attribute[] NONE = {};
+        private static final String[] NO_KEYS = {};
+
+        private Attribute[] items = NONE;
+        private String[] keys = NO_KEYS;
+        private int size;
+        private FieldIndex index;       // over keys once past LINEAR; dropped by add
+        private List<Attribute> view;
+
+        public Attributes(List<Attribute> attributes) {
+            if (attributes != null) addAll(attributes);
+        }
+        public void add(Attribute attribute) {
+            if (size == items.length) {
+                int n = Math.max(4, size * 2);
+                items = Arrays.copyOf(items, n);
+                keys = Arrays.copyOf(keys, n);
+            }
+            items[size] = attribute;
+            keys[size++] = attribute.key();
+            index = null;
+        }
+        public void addAll(List<Attribute> attributes) { for (Attribute a : attributes) add(a); }
+        public boolean isEmpty() { return size == 0; }
+        public int size() { return size; }
+        public Attribute get(int index) { Objects.checkIndex(index, size); return items[index]; }
+
+        /** Position of the first attribute with this key, or -1. */
+        public int indexOf(String key) {
+            if (size > LINEAR) {
+                if (index == null) index = FieldIndex.of(keys, size);
+                return index.indexOf(key);
+            }
+            for (int i = 0; i < size; i++) {
+                String k = keys[i];
+                if (k == key || k.equals(key)) return i;
+            }
+            return -1;
+        }
+        /** The attribute with this key, or null. */
+        public Attribute attribute(String key) {
+            int i = indexOf(key);
+            return i < 0 ? null : items[i];
+        }
+        public boolean has(String key) { return indexOf(key) >= 0; }
+        public boolean hasTag(String key) { Attribute a = attribute(key); return a != null && a.value() == null; }
+        public Optional<Attribute> find(String key) { return Optional.ofNullable(attribute(key)); }
+
+        public long getLong(String key, long defaultValue) {
+            Attribute a = attribute(key);
+            return a == null ? defaultValue : a.getLong(defaultValue);
+        }
+        public double getDouble(String key, double defaultValue) {
+            Attribute a = attribute(key);
+            return a == null ? defaultValue : a.getDouble(defaultValue);
+        }
+        public boolean getBoolean(String key, boolean defaultValue) {
+            Attribute a = attribute(key);
+            return a == null ? defaultValue : a.getBoolean(defaultValue);
+        }
+        public String getString(String key, String defaultValue) {
+            Attribute a = attribute(key);
+            return a == null ? defaultValue : a.getString(defaultValue);
+        }
+
+        public Stream<Attribute> stream() { return Arrays.stream(items, 0, size); }
 
         // === Iterable METHODS ===
         @Override
-        public @NotNull Iterator<Attribute> iterator() { return backing.iterator(); }
+        public @NotNull Iterator<Attribute> iterator() { return asList().iterator(); }
 
+        /** A read-only view that follows later additions. */
         public List<Attribute> asList() {
-            return backing;
+            List<Attribute> v = view;
+            if (v == null) {
+                view = v = new AbstractList<>() {
+                    @Override public Attribute get(int index) { return Attributes.this.get(index); }
+                    @Override public int size() { return size; }
+                };
+            }
+            return v;
+        }
+
+        @Override
+        public @NotNull String toString() { return asList().toString(); }
+    }
+
+    /** An object field; the key is held as an id in the document's {@link SymbolTable}. */
+    record Field(SymbolTable symbols, int symbol, Value value) implements Map.Entry<String, Value> {
+        @Override public String getKey() { return symbols.name(symbol); }
+        @Override public Value getValue() { return value; }
+        @Override public Value setValue(Value value) { throw new UnsupportedOperationException(); }
+
+        // Map.Entry contract, so fields still compare equal to Map.entry(key, value)
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && getKey().equals(e.getKey()) && Objects.equals(value, e.getValue());
         }
+        @Override public int hashCode() { return getKey().hashCode() ^ Objects.hashCode(value); }
+        @Override public @NotNull String toString() { return getKey() + "=" + value; }
     }
 
     // === PRIMITIVES ===
@@ -126,9 +258,13 @@ public sealed interface Value
         @Override public int end() { return valueBase.end; }
     }
 
-    record StringValue(ValueBase valueBase) implements Value {
+    /** {@code escaped} is false only when the scanner saw no backslash in the content. */
+    record StringValue(ValueBase valueBase, boolean escaped) implements Value {
         public StringValue(Source source, int start, int end) {
-            this(new ValueBase(source, start, end));
+            this(source, start, end, true);
+        }
+        public StringValue(Source source, int start, int end, boolean escaped) {
+            this(new ValueBase(source, start, end), escaped);
         }
         public String content() { return valueBase.substring();}
         @Override public @NotNull String toString() { return valueBase.source(); }
@@ -146,9 +282,13 @@ public sealed interface Value
         @Override public int end() { return valueBase.end; }
     }
 
-    record BlobValue(String attribute, ValueBase valueBase) implements Value {
+    /** {@code escaped} is false only when the scanner saw no backslash in the content. */
+    record BlobValue(String attribute, ValueBase valueBase, boolean escaped) implements Value {
         public BlobValue(Source source, String attribute, int start, int end) {
-            this(attribute, new ValueBase(source, start, end));
+            this(source, attribute, start, end, true);
+        }
+        public BlobValue(Source source, String attribute, int start, int end, boolean escaped) {
+            this(attribute, new ValueBase(source, start, end), escaped);
         }
         public String attribute() { return attribute; }
         public String content() { return valueBase.substring();}
@@ -158,31 +298,49 @@ public sealed interface Value
     }
 
     // === COMPOSITES ===
-    record ArrayValue(List<Value> elements, List<Attribute> attributes, ValueBase valueBase) implements Value {
+    record ArrayValue(List<Value> elements, Attributes attributes, ValueBase valueBase) implements Value {
         public ArrayValue(Source source, List<Value> elements, List<Attribute> attributes, int start, int end) {
-            this(List.copyOf(elements), new ArrayList<>(attributes != null ? attributes : List.of()), new ValueBase(source, start, end));
+            this(List.copyOf(elements), new Attributes(attributes), new ValueBase(source, start, end, false));
+        }
+        @Override public @NotNull String toString() {
+            return valueBase.retainsText() ? valueBase.source() : render("[", elements, "]");
         }
-        @Override public @NotNull String toString() { return valueBase.source(); }
         @Override public int start() { return valueBase.start; }
         @Override public int end() { return valueBase.end; }
     }
 
-    record TupleValue(List<Value> elements, List<Attribute> attributes, ValueBase valueBase) implements Value {
+    record TupleValue(List<Value> elements, Attributes attributes, ValueBase valueBase) implements Value {
         public TupleValue(Source source, List<Value> elements, List<Attribute> attributes, int start, int end) {
-            this(List.copyOf(elements), new ArrayList<>(attributes != null ? attributes : List.of()), new ValueBase(source, start, end));
+            this(List.copyOf(elements), new Attributes(attributes), new ValueBase(source, start, end, false));
             if (elements.size() < 2) throw new IllegalArgumentException("Tuple must have at least 2 elements");
         }
-        @Override public @NotNull String toString() { return valueBase.source(); }
+        @Override public @NotNull String toString() {
+            return valueBase.retainsText() ? valueBase.source() : render("(", elements, ")");
+        }
         @Override public int start() { return valueBase.start; }
         @Override public int end() { return valueBase.end; }
     }
 
-    record ObjectValue(List<Map.Entry<String, Value>> fields, List<Attribute> attributes, ValueBase valueBase, String base) implements Value {
+    /** {@code index} is built from the fields once; see {@link FieldIndex}. */
+    record ObjectValue(List<Map.Entry<String, Value>> fields, Attributes attributes, ValueBase valueBase, String base, FieldIndex index) implements Value {
         public ObjectValue(Source source, List<Map.Entry<String, Value>> fields, List<Attribute> attributes, String base, int start, int end) {
-            this(List.copyOf(fields), new ArrayList<>(attributes != null ? attributes : List.of()), new ValueBase(source, start, end), base);
+            this(List.copyOf(fields), new Attributes(attributes), new ValueBase(source, start, end, false), base);
+        }
+        private ObjectValue(List<Map.Entry<String, Value>> fields, Attributes attributes, ValueBase valueBase, String base) {
+            this(fields, attributes, valueBase, base, FieldIndex.of(fields));
         }
         @Override
-        public @NotNull String toString() { return valueBase.source(); }
+        public @NotNull String toString() {
+            if (valueBase.retainsText()) return valueBase.source();
+            StringJoiner out = new StringJoiner(", ", "{ ", " }");
+            for (Map.Entry<String, Value> field : fields) {
+                Value value = field.getValue();
+                Attributes attrs = value instanceof ArrayValue || value instanceof TupleValue
+                        || value instanceof ObjectValue ? value.getAttributes() : null;
+                out.add(field.getKey() + (attrs == null || attrs.isEmpty() ? "" : " @" + attrs) + " := " + text(value));
+            }
+            return out.toString();
+        }
         @Override
         public int start() { return valueBase.start; }
         @Override
@@ -190,14 +348,18 @@ public sealed interface Value
         @Override
         public String getBase() { return base; }
 
+        /** The value of the field, or null; one probe of the index. */
+        public Value get(String key) {
+            int i = index.indexOf(key);
+            return i < 0 ? null : fields.get(i).getValue();
+        }
+
+        /** A read-only view in field order over the index. */
         public Map<String, Value> asMap() {
-            LinkedHashMap<String, Value> map = new LinkedHashMap<>();
-            for (var e : fields) {
-                if (map.put(e.getKey(), e.getValue()) != null) {
-                    throw new IllegalStateException("Duplicate key: " + e.getKey());
-                }
+            if (index.duplicate() != null) {
+                throw new IllegalStateException("Duplicate key: " + index.duplicate());
             }
-            return Map.copyOf(map);
+            return index.asMap(i -> fields.get(i).getValue());
         }
     }
 }
\ No newline at end of file
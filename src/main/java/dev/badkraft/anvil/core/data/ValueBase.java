@@ -28,18 +28,30 @@ public final class ValueBase {
     final Source source;
     final int start;
     final int end;
+    private final String text;      // own copy of the slice, only when the source drops its text
 
     public ValueBase(Source source, int start, int end) {
+        this(source, start, end, true);
+    }
+
+    /** Composites pass {@code copy = false}: their span can be far larger than any leaf. */
+    public ValueBase(Source source, int start, int end, boolean copy) {
         this.source = Objects.requireNonNull(source);
         this.start = start;
         this.end = end;
+        this.text = copy && !source.retainsText() ? source.substring(start, end) : null;
+    }
+
+    /** False when the source drops its text; composites then render from their children. */
+    boolean retainsText() {
+        return text != null || source.retainsText();
     }
 
     String source() {
-        return source.substring(start, end);
+        return substring();
     }
 
     public String substring() {
-        return source.substring(start, end);
+        return text != null ? text : source.substring(start, end);
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+/// src/main/java/dev/badkraft/anvil/data/AttributeView.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.data;
+
+import dev.badkraft.anvil.core.data.FieldIndex;
+import dev.badkraft.anvil.core.data.Value;
+import dev.badkraft.anvil.utilities.AnvilConverters;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The attributes of a parsed value as runtime {@link attribute}s, each converted the first time
+ * it is read and kept from then on. Lookups go through the parsed attributes' own index, or,
+ * for attributes built directly, an index over their keys. It is itself the read-only list the
+ * containers hand out, so reading them copies nothing.
+ */
+final class AttributeView extends AbstractList<attribute> implements RandomAccess {
+    static final AttributeView NONE = new AttributeView(List.of(), "value");
+
+    private final Value.Attributes source;  // null when built directly
+    private final FieldIndex index;         // null unless built directly
+    private final attribute[] converted;
+
+    AttributeView(Value.Attributes source, String container) {
+        for (int i = 0; i < source.size(); i++) {
+            String key = source.get(i).key();
+            if (source.indexOf(key) != i) {
+                throw new IllegalStateException("Duplicate attribute key in " + container + ": " + key);
+            }
+        }
+        this.source = source;
+        this.index = null;
+        this.converted = new attribute[source.size()];
+    }
+
+    AttributeView(List<attribute> attributes, String container) {
+        String[] keys = new String[attributes.size()];
+        for (int i = 0; i < keys.length; i++) keys[i] = attributes.get(i).key();
+        this.source = null;
+        this.index = FieldIndex.of(keys, keys.length);
+        if (index.duplicate() != null) {
+            throw new IllegalStateException("Duplicate attribute key in " + container + ": " + index.duplicate());
+        }
+        this.converted = attributes.toArray(new attribute[0]);
+    }
+
+    static AttributeView of(List<attribute> attributes, String container) {
+        return attributes.isEmpty() ? NONE : new AttributeView(attributes, container);
+    }
+
+    boolean has(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /** The attribute with this key, or null. */
+    attribute find(String key) {
+        int i = indexOf(key);
+        return i < 0 ? null : at(i);
+    }
+
+    private int indexOf(String key) {
+        return source != null ? source.indexOf(key) : index.indexOf(key);
+    }
+
+    @Override
+    public attribute get(int index) {
+        Objects.checkIndex(index, converted.length);
+        return at(index);
+    }
+
+    @Override
+    public int size() {
+        return converted.length;
+    }
+
+    // A race converts the same attribute twice, to equal results; either one may be kept.
+    private attribute at(int i) {
+        attribute a = converted[i];
+        if (a == null) converted[i] = a = AnvilConverters.toAttribute(source.get(i));
+        return a;
+    }
+}
@@ -0,0 +1,57 @@
+/// src/main/java/dev/badkraft/anvil/data/Numbers.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.data;
+
+import dev.badkraft.anvil.core.data.Value;
+
+import java.util.List;
+
+/** Finds the parsed arrays and tuples that {@link array} and {@link tuple} hold as numbers. */
+final class Numbers {
+    private Numbers() {}
+
+    /** The elements as longs if all are integers ({@code 0x} and {@code #} included), else null. */
+    static long[] longs(List<Value> elements) {
+        if (elements.isEmpty()) return null;
+        long[] longs = new long[elements.size()];
+        for (int i = 0; i < longs.length; i++) {
+            switch (elements.get(i)) {
+                case Value.LongValue l -> longs[i] = l.value();
+                case Value.HexValue h -> longs[i] = h.value();
+                default -> { return null; }
+            }
+        }
+        return longs;
+    }
+
+    /** The elements as doubles if all are decimals, else null. */
+    static double[] doubles(List<Value> elements) {
+        if (elements.isEmpty()) return null;
+        double[] doubles = new double[elements.size()];
+        for (int i = 0; i < doubles.length; i++) {
+            if (!(elements.get(i) instanceof Value.DoubleValue d)) return null;
+            doubles[i] = d.value();
+        }
+        return doubles;
+    }
+}
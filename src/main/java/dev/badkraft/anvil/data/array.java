@@ -22,55 +22,174 @@
 /// SOFTWARE.
 package dev.badkraft.anvil.data;
 
-import dev.badkraft.anvil.core.data.Attribute;
 import dev.badkraft.anvil.core.data.Value;
 import dev.badkraft.anvil.utilities.AnvilConverters;
 
-import java.util.LinkedHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
-public final class array implements value {
-    private final List<value> elements;
-    private final LinkedHashMap<String, attribute> attributes;
+/**
+ * A runtime view over a parsed array; each element is converted the first time it is read.
+ * <p>
+ * An array of integers only, or of decimals only, is held as a {@code long[]} or {@code double[]}
+ * instead: {@link #getLong}, {@link #getDouble}, {@link #forEachLong}, {@link #forEachDouble}
+ * and the {@code as*Array} copies read it without boxing, while {@link #get} makes a new
+ * {@link value} on each call.
+ * <p>
+ * Iterating, {@link #elements()} and {@link #attributes()} read the elements in place, without
+ * copying them; the spliterators split the index range in halves for parallel streams.
+ */
+public final class array implements value, Iterable<value> {
+    private final List<Value> internal;     // null when built directly or held as numbers
+    private final value[] elements;         // null slots until first read; null when held as numbers
+    private final long[] longs;             // integers only, or null
+    private final double[] doubles;         // decimals only, or null
+    private final AttributeView attributes;
 
     public array(Value.ArrayValue internal) {
-        this.elements = internal.elements().stream()
-                .map(AnvilConverters::toValue)
-                .toList();
-        this.attributes = internal.attributes().stream()
-                .collect(Collectors.toMap(
-                        Attribute::key,
-                        AnvilConverters::toAttribute,
-                        (a, b) -> {throw new IllegalStateException("Duplicate attribute key: " + a.key());},
-                        LinkedHashMap::new
-                ));
+        List<Value> elements = internal.elements();
+        this.longs = Numbers.longs(elements);
+        this.doubles = longs == null ? Numbers.doubles(elements) : null;
+        boolean numbers = longs != null || doubles != null;
+        this.internal = numbers ? null : elements;
+        this.elements = numbers ? null : new value[elements.size()];
+        this.attributes = new AttributeView(internal.attributes(), "array");
+    }
+
+    /** An array of values already converted. */
+    public array(List<value> elements, List<attribute> attributes) {
+        this.internal = null;
+        this.elements = elements.toArray(new value[0]);
+        this.longs = null;
+        this.doubles = null;
+        this.attributes = AttributeView.of(attributes, "array");
+    }
+
+    /** An array of integers; {@code values} is kept as it is, not copied. */
+    public array(long[] values, List<attribute> attributes) {
+        this.internal = null;
+        this.elements = null;
+        this.longs = values;
+        this.doubles = null;
+        this.attributes = AttributeView.of(attributes, "array");
+    }
+
+    /** An array of decimals; {@code values} is kept as it is, not copied. */
+    public array(double[] values, List<attribute> attributes) {
+        this.internal = null;
+        this.elements = null;
+        this.longs = null;
+        this.doubles = values;
+        this.attributes = AttributeView.of(attributes, "array");
     }
 
     @Override
     public value get(int index) {
-        if(index < 0 || index >= elements.size()) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.size());
+        int size = size();
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
-        return elements.get(index);
+        return at(index);
     }
     public int size() {
-        return elements.size();
+        return longs != null ? longs.length : doubles != null ? doubles.length : elements.length;
     }
+    /** A read-only view of the elements. */
     public List<value> elements() {
-        return List.copyOf(elements);
+        return new IndexedList<>(this::at, size());
+    }
+    @Override
+    public @NotNull Iterator<value> iterator() {
+        return elements().iterator();
+    }
+    @Override
+    public void forEach(Consumer<? super value> action) {
+        int size = size();
+        for (int i = 0; i < size; i++) action.accept(at(i));
+    }
+    @Override
+    public Spliterator<value> spliterator() {
+        return elements().spliterator();
+    }
+
+    /** Element {@code index} as a long, converted as {@link value#asLong()} would. */
+    public long getLong(int index) {
+        if (longs != null) return longs[index];
+        if (doubles != null) {
+            Objects.checkIndex(index, doubles.length);
+            throw new ClassCastException("Not a long");
+        }
+        return get(index).asLong();
+    }
+    /** Element {@code index} as a double; integers widen, as in {@link value#asDouble()}. */
+    public double getDouble(int index) {
+        if (doubles != null) return doubles[index];
+        if (longs != null) return longs[index];
+        return get(index).asDouble();
+    }
+    /** A copy of the elements as longs; throws ClassCastException unless all are integers. */
+    public long[] asLongArray() {
+        if (longs != null) return longs.clone();
+        long[] copy = new long[size()];
+        for (int i = 0; i < copy.length; i++) copy[i] = getLong(i);
+        return copy;
+    }
+    /** A copy of the elements as doubles; throws ClassCastException unless all are numbers. */
+    public double[] asDoubleArray() {
+        if (doubles != null) return doubles.clone();
+        if (longs != null) return Arrays.stream(longs).asDoubleStream().toArray();
+        double[] copy = new double[elements.length];
+        for (int i = 0; i < copy.length; i++) copy[i] = at(i).asDouble();
+        return copy;
+    }
+    /** The elements as longs, in the way of {@link #getLong}. */
+    public LongStream longStream() {
+        return longs != null ? Arrays.stream(longs) : IntStream.range(0, size()).mapToLong(this::getLong);
+    }
+    /** The elements as doubles, in the way of {@link #getDouble}. */
+    public DoubleStream doubleStream() {
+        if (doubles != null) return Arrays.stream(doubles);
+        return IntStream.range(0, size()).mapToDouble(this::getDouble);
+    }
+    public void forEachLong(LongConsumer action) {
+        int size = size();
+        for (int i = 0; i < size; i++) action.accept(getLong(i));
+    }
+    public void forEachDouble(DoubleConsumer action) {
+        int size = size();
+        for (int i = 0; i < size; i++) action.accept(getDouble(i));
     }
     public List<attribute> attributes() {
-        return List.copyOf(attributes.values());
+        return attributes;
     }
     public attribute attribute(String key) {
-        return attributes.get(key);
+        return attributes.find(key);
     }
     public boolean hasAttribute(String key) {
-        return attributes.containsKey(key);
+        return attributes.has(key);
     }
     @Override
     public array asArray() {
         return this;
     }
+
+    // A race converts the same element twice, to equal results; either one may be kept.
+    private value at(int i) {
+        if (longs != null) return new value.LongValue(longs[i]);
+        if (doubles != null) return new value.DoubleValue(doubles[i]);
+        value v = elements[i];
+        if (v == null) elements[i] = v = AnvilConverters.toValue(internal.get(i));
+        return v;
+    }
 }
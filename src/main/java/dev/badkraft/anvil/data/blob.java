@@ -28,8 +28,12 @@ public final class blob implements value {
     private final String content;
     private final attribute tag;
     public blob(Value.BlobValue b) {
-        this.content = b.content();
-        this.tag = b.attribute() != null ? new attribute("tag", new value.StringValue(b.attribute())) : null;
+        this(b.attribute(), b.content());
+    }
+    /** {@code content} is the blob as written; {@code tag} is null for a plain blob. */
+    public blob(String tag, String content) {
+        this.content = content;
+        this.tag = tag != null ? new attribute("tag", new value.StringValue(tag)) : null;
     }
 
     public String content() {
@@ -22,51 +22,70 @@
 /// SOFTWARE.
 package dev.badkraft.anvil.data;
 
-import dev.badkraft.anvil.api.node;
-import dev.badkraft.anvil.core.data.Attribute;
+import dev.badkraft.anvil.core.data.FieldIndex;
 import dev.badkraft.anvil.core.data.Value;
 import dev.badkraft.anvil.utilities.AnvilConverters;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 
+/**
+ * A runtime view over a parsed object: a field is converted the first time it is read and kept
+ * from then on, so only the parts of a document that are used are ever converted. The fields,
+ * their map view and the attributes are read in place, without copying.
+ */
 public final class object implements value {
+    private final Value.ObjectValue internal;  // null when built directly
     private final String base;
-    private final LinkedHashMap<String, attribute> attributes;
-    private final LinkedHashMap<String, value> fields;
+    private final AttributeView attributes;
+    private final FieldIndex index;     // shared with the parsed object, if there is one
+    private final value[] values;       // in field order, null until first read
 
     public object(Value.ObjectValue internal) {
-        this.attributes = internal.attributes().stream()
-                .collect(Collectors.toMap(
-                        Attribute::key,
-                        AnvilConverters::toAttribute,
-                        (a, b) -> { throw new IllegalStateException("Duplicate key"); },
-                        LinkedHashMap::new
-                ));
-        this.fields = internal.fields().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        e -> AnvilConverters.toValue(e.getValue()),
-                        (a, b) -> { throw new IllegalStateException("Duplicate key"); },
-                        LinkedHashMap::new
-                ));
+        this.internal = internal;
+        this.attributes = new AttributeView(internal.attributes(), "object");
+        this.index = internal.index();
+        if (index.duplicate() != null) throw new IllegalStateException("Duplicate key");
+        this.values = new value[index.size()];
         this.base = internal.base() == null ? "" : internal.base();
     }
 
+    /** An object of values already converted; {@code keys} and {@code values} pair by position. */
+    public object(String base, List<String> keys, List<value> values, List<attribute> attributes) {
+        if (keys.size() != values.size()) throw new IllegalArgumentException("keys and values differ in size");
+        this.internal = null;
+        this.attributes = AttributeView.of(attributes, "object");
+        this.index = FieldIndex.of(keys.toArray(new String[0]), keys.size());
+        if (index.duplicate() != null) throw new IllegalStateException("Duplicate key");
+        this.values = values.toArray(new value[0]);
+        this.base = base == null ? "" : base;
+    }
+
     public value get(String field) {
-        return fields.get(field);
+        int i = index.indexOf(field);
+        return i < 0 ? null : at(i);
     }
     public boolean has(String field) {
-        return fields.containsKey(field);
+        return index.contains(field);
     }
     public Set<String> fields() {
-        return fields.keySet();
+        return index.keySet();
+    }
+    public int size() {
+        return values.length;
+    }
+    /** A read-only map view of the fields, in order. */
+    public Map<String, value> asMap() {
+        return index.asMap(this::at);
+    }
+    /** Each field in order, read in place. */
+    public void forEach(BiConsumer<? super String, ? super value> action) {
+        for (int i = 0; i < values.length; i++) action.accept(index.key(i), at(i));
     }
     public List<attribute> attributes() {
-        return List.copyOf(attributes.values());
+        return attributes;
     }
     @Override
     public object asObject() {
@@ -81,12 +100,19 @@ public final class object implements value {
         return base;
     }
     public attribute attribute(String key) {
-        if (!attributes.containsKey(key)) {
+        if (!attributes.has(key)) {
             throw new IllegalArgumentException("No attribute found with key: " + key);
         }
-        return attributes.get(key);
+        return attributes.find(key);
     }
     public boolean hasAttribute(String key) {
-        return attributes.containsKey(key);
+        return attributes.has(key);
+    }
+
+    // A race converts the same field twice, to equal results; either one may be kept.
+    private value at(int i) {
+        value v = values[i];
+        if (v == null) values[i] = v = AnvilConverters.toValue(internal.fields().get(i).getValue());
+        return v;
     }
 }
@@ -24,7 +24,7 @@ package dev.badkraft.anvil.data;
 
 public sealed interface value permits object, array, tuple, blob,
         value.LongValue, value.DoubleValue, value.StringValue, value.BooleanValue,
-        value.NullValue {
+        value.NullValue, value.BareValue {
     record LongValue(long value) implements value {
         @Override public long asLong() { return value; }
         @Override public int asInt() {
@@ -68,6 +68,11 @@ public sealed interface value permits object, array, tuple, blob,
 
     record NullValue() implements value { }
 
+    /** An unquoted literal such as {@code stone} or {@code minecraft:dirt}, as written. */
+    record BareValue(String value) implements value {
+        @Override public String asString() { return value; }
+    }
+
     // Primitive accessors — throw by default
     default long     asLong()     { throw new ClassCastException("Not a long"); }
     default double   asDouble()   {
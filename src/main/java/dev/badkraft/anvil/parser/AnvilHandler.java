@@ -0,0 +1,61 @@
+/// src/main/java/dev/badkraft/anvil/parser/AnvilHandler.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+/**
+ * Push-mode callbacks, driven by {@link AnvilParser#parse(dev.badkraft.anvil.core.api.Context, AnvilHandler)}
+ * in document order; nothing is built, values arrive decoded. Every method has a no-op default.
+ * <p>
+ * A callback that opens something (statement, field, attribute, composite) may return
+ * {@link Action#SKIP}: what it opens is then passed over by bracket matching, without
+ * validation and without further callbacks, including its own end callback.
+ * <p>
+ * An attribute with a value is followed by exactly one scalar callback for it.
+ */
+public interface AnvilHandler {
+
+    enum Action { CONTINUE, SKIP }
+
+    default Action onStatement(String key, String base)     { return Action.CONTINUE; }
+    default void onStatementEnd()                           { }
+    default Action onAttribute(String key, boolean hasValue) { return Action.CONTINUE; }
+
+    default Action onObjectStart()                          { return Action.CONTINUE; }
+    default Action onField(String name)                     { return Action.CONTINUE; }
+    default void onObjectEnd()                              { }
+    default Action onArrayStart()                           { return Action.CONTINUE; }
+    default void onArrayEnd()                               { }
+    default Action onTupleStart()                           { return Action.CONTINUE; }
+    default void onTupleEnd()                               { }
+
+    default void onString(String value)                     { }
+    /** {@code content} is the text between the backticks; {@code tag} is null for a plain blob. */
+    default void onBlob(String tag, String content)         { }
+    default void onLong(long value)                         { }
+    default void onDouble(double value)                     { }
+    /** A {@code #} literal; {@code 0x} literals arrive through {@link #onLong}. */
+    default void onHex(long value)                          { }
+    default void onBoolean(boolean value)                   { }
+    default void onNull()                                   { }
+    default void onBare(String value)                       { }
+}
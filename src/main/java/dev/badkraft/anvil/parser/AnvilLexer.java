@@ -0,0 +1,237 @@
+/// src/main/java/dev/badkraft/anvil/parser/AnvilLexer.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.data.Source;
+
+import java.util.Arrays;
+
+import static dev.badkraft.anvil.parser.ErrorCode.*;
+import static dev.badkraft.anvil.parser.Token.*;
+
+/**
+ * One pass over a {@link Source}, from its current position, into a {@link TokenStream}.
+ * Whitespace and comments are dropped; every token is picked by a switch on its first char.
+ * <p>
+ * Words are the one context-sensitive case: in value position (after {@code :=}, {@code =},
+ * {@code [}, {@code (}, or a comma inside an array or tuple) a word is a keyword prefix or a
+ * bare literal, everywhere else it is an identifier. A bracket stack tracks which it is.
+ * <p>
+ * The lexer never throws. An unterminated string or blob ends the stream with an
+ * {@link Token#ERROR} token, so {@link AnvilParser} still reports errors in document order.
+ * <p>
+ * {@link #lex} lexes everything up front; {@link #stream} lexes on demand, for sources
+ * that do not keep their whole text.
+ */
+public final class AnvilLexer {
+
+    private final Source source;
+    private TokenStream out;
+    private boolean done;
+
+    // innermost open bracket last: '{', '[', '(' or '@' for an attribute block
+    private char[] open = new char[16];
+    private int depth;
+    private boolean valuePosition;
+
+    private AnvilLexer(Source source) {
+        this.source = source;
+    }
+
+    /** Lexes the whole source, from its current position, into a complete stream. */
+    public static TokenStream lex(Source source) {
+        int remaining = source.length() - source.position();
+        TokenStream tokens = new TokenStream(Math.max(16, remaining / 4), null);
+        new AnvilLexer(source).lex(tokens, Integer.MAX_VALUE);
+        return tokens;
+    }
+
+    /** As {@link #lex(Source)}, refilling {@code reuse} instead when it is a complete stream. */
+    static TokenStream lex(Source source, TokenStream reuse) {
+        if (reuse == null || !reuse.isComplete()) return lex(source);
+        reuse.clear();
+        new AnvilLexer(source).lex(reuse, Integer.MAX_VALUE);
+        return reuse;
+    }
+
+    /**
+     * Lexes the single value a {@link Source#slice} starts on, up to the slice's end, so an
+     * index can re-read one value without keeping the tokens of the whole document.
+     */
+    static TokenStream lexValue(Source slice) {
+        TokenStream tokens = new TokenStream(Math.max(16, (slice.length() - slice.position()) / 4), null);
+        AnvilLexer lexer = new AnvilLexer(slice);
+        lexer.valuePosition = true;
+        lexer.lex(tokens, Integer.MAX_VALUE);
+        return tokens;
+    }
+
+    /** A stream that lexes as it is read; see {@link TokenStream}. */
+    public static TokenStream stream(Source source) {
+        return new TokenStream(64, new AnvilLexer(source));
+    }
+
+    /** Appends up to {@code count} tokens to {@code tokens}; false once EOF or ERROR is out. */
+    boolean lex(TokenStream tokens, int count) {
+        out = tokens;
+        for (int i = 0; i < count && !done; i++) {
+            source.skipWhitespace();
+            if (source.isEOF()) {
+                emit(EOF, source.position(), source.position());
+                done = true;
+            } else {
+                done = !next();
+            }
+        }
+        return !done;
+    }
+
+    void release(int position) {
+        source.release(position);
+    }
+
+    /** Lexes one token at the current position; false once an ERROR token ends the stream. */
+    private boolean next() {
+        char c = source.peek();
+        boolean value = valuePosition;
+        valuePosition = false;
+        switch (c) {
+            case '{' -> { push(c); token(L_BRACE, 1); }
+            case '[' -> { push(c); token(L_BRACKET, 1); valuePosition = true; }
+            case '(' -> { push(c); token(L_PAREN, 1); valuePosition = true; }
+            case '}' -> { pop(); token(R_BRACE, 1); }
+            case ']' -> { pop(); token(R_BRACKET, 1); }
+            case ')' -> { pop(); token(R_PAREN, 1); }
+            case ',' -> {
+                token(COMMA, 1);
+                valuePosition = depth > 0 && (open[depth - 1] == '[' || open[depth - 1] == '(');
+            }
+            case ':' -> {
+                if (source.is('=', 1)) { token(ASSIGN, 2); valuePosition = true; }
+                else token(COLON, 1);
+            }
+            case '=' -> { token(EQUAL, 1); valuePosition = true; }
+            case '@' -> {
+                if (source.is('[', 1)) { push(c); token(ATTR_OPEN, 2); }
+                else token(AT, 1);
+            }
+            case '"' -> { return delimited(STRING, '"', UNTERMINATED_STRING); }
+            case '`' -> { return delimited(BLOB, '`', UNTERMINATED_BLOB); }
+            case '#' -> token(HEX, hexLength(1));
+            case '0' -> {
+                if (source.is('x', 1) || source.is('X', 1)) token(HEX, hexLength(2));
+                else token(NUMBER, numberLength());
+            }
+            case '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '-', '.' -> token(NUMBER, numberLength());
+            default -> {
+                if (!source.isIdentifierStart(c)) token(UNKNOWN, 1);
+                else if (value) word();
+                else token(IDENT, identifierLength());
+            }
+        }
+        return true;
+    }
+
+    // keyword prefixes win over bare literals, as they always have
+    private void word() {
+        if (source.is("true"))       token(TRUE, 4);
+        else if (source.is("false")) token(FALSE, 5);
+        else if (source.is("null"))  token(NULL, 4);
+        else                         token(BARE, bareLiteralLength());
+    }
+
+    private boolean delimited(int kind, char close, ErrorCode unterminated) {
+        int start = source.position();
+        int from = start + 1;
+        // no backslash before the first candidate → it closes the literal; otherwise
+        // one forward pass from that backslash, carrying escape state
+        int end = source.indexOf(close, from);
+        int slash = end < 0 ? -1 : source.indexOf('\\', from, end);
+        if (slash >= 0) end = source.indexOfUnescaped(close, slash);
+        if (end < 0) {
+            out.fail(unterminated);
+            emit(ERROR, start, source.length());
+            return false;
+        }
+        token(slash >= 0 ? kind | ESCAPED : kind, end + 1 - start);
+        return true;
+    }
+
+    // --- Lexeme lengths (relative to the current position) ---
+    private int identifierLength() {
+        int len = 1;
+        while (!source.isEOF(len) && source.isIdentifierPart(source.peek(len))) len++;
+        return len;
+    }
+
+    private int bareLiteralLength() {
+        int len = 1;
+        while (!source.isEOF(len) && source.isBareLiteralPart(source.peek(len))) len++;
+        return len;
+    }
+
+    private int hexLength(int prefix) {
+        int len = prefix;
+        while (source.isHexDigit(source.peek(len)) || source.peek(len) == '_') len++;
+        return len;
+    }
+
+    // [+-]? [0-9_]* ('.' [0-9_]*)? ([eE] [+-]? [0-9_]*)? ; validated by the parser
+    private int numberLength() {
+        int len = 0;
+        if (source.peek() == '+' || source.peek() == '-') len++;
+        len = digitsFrom(len);
+        if (source.peek(len) == '.') len = digitsFrom(len + 1);
+        if (source.peek(len) == 'e' || source.peek(len) == 'E') {
+            len++;
+            if (source.peek(len) == '+' || source.peek(len) == '-') len++;
+            len = digitsFrom(len);
+        }
+        return len;
+    }
+
+    private int digitsFrom(int len) {
+        while (source.isDigit(source.peek(len)) || source.peek(len) == '_') len++;
+        return len;
+    }
+
+    // --- Emission ---
+    private void token(int kind, int length) {
+        int start = source.position();
+        emit(kind, start, start + length);
+        source.consume(length);
+    }
+
+    private void emit(int kind, int start, int end) {
+        out.add(kind, start, end);
+    }
+
+    private void push(char bracket) {
+        if (depth == open.length) open = Arrays.copyOf(open, depth * 2);
+        open[depth++] = bracket;
+    }
+
+    private void pop() {
+        if (depth > 0) depth--;
+    }
+}
@@ -25,412 +25,651 @@ package dev.badkraft.anvil.parser;
 import dev.badkraft.anvil.core.api.Context;
 import dev.badkraft.anvil.core.data.*;
 import dev.badkraft.anvil.core.data.Value.*;
+import dev.badkraft.anvil.parser.AnvilReader.Event;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
-import static dev.badkraft.anvil.core.data.Operator.*;
-import static dev.badkraft.anvil.parser.ErrorCode.*;
+import static dev.badkraft.anvil.parser.AnvilHandler.Action.SKIP;
+import static dev.badkraft.anvil.parser.AnvilReader.Event.*;
 
+/**
+ * Builds the {@link Statement}/{@link Value} tree in a {@link Context} from the events of an
+ * {@link AnvilReader}; the grammar and every syntax error live in the reader.
+ * Alternatively pushes those events to an {@link AnvilHandler} and builds nothing.
+ */
 public final class AnvilParser {
 
-    private final Context context;
-    private final Source source;
+    private Context context;
+    private SymbolTable symbols;
+    private final AnvilReader reader;
+
+    // scratch lists by nesting depth; composites copy theirs when they are built
+    private final List<List<Value>> elementLists = new ArrayList<>();
+    private final List<List<Map.Entry<String, Value>>> fieldLists = new ArrayList<>();
+    private final List<Attribute> attributeList = new ArrayList<>();
+    private int depth;
 
     private AnvilParser(Context context) {
+        this(context, AnvilReader.of(context));
+    }
+
+    private AnvilParser(Context context, AnvilReader reader) {
         this.context = context;
-        this.source = context.source();
+        this.symbols = context.symbols();
+        this.reader = reader;
+    }
+
+    // Idle until parseInto; a ParserSession keeps one next to its reader.
+    AnvilParser(AnvilReader reader) {
+        this.reader = reader;
     }
 
     public static void parse(Context context) {
         new AnvilParser(context).parseSource();
     }
 
-    private void parseSource() {
-        source.skipWhitespace();
+    /**
+     * Parallel mode: cuts the document at top-level statements and parses the chunks on
+     * {@code pool}, joining them in document order; see {@link ChunkedParser}. The result and
+     * any error are the same as {@link #parse(Context)}. Small documents, and sources that do
+     * not keep their text, are parsed sequentially on the calling thread.
+     */
+    public static void parse(Context context, ForkJoinPool pool) {
+        ChunkedParser.parse(context, pool, 0);
+    }
 
-        while (source.is("@[")) {
-            List<Attribute> attrs = parseAttributeBlock();
-            context.addAllAttributes(attrs);
-            source.skipWhitespace();
+    /** Streams the document to {@code handler}; the context is only read from, never filled. */
+    public static void parse(Context context, AnvilHandler handler) {
+        AnvilReader reader = AnvilReader.of(context);
+        for (Event event = reader.next(); event != END_DOCUMENT; event = reader.next()) {
+            switch (event) {
+                case START_STATEMENT -> {
+                    if (handler.onStatement(reader.name(), reader.base()) == SKIP) reader.skip();
+                }
+                case END_STATEMENT -> handler.onStatementEnd();
+                case ATTRIBUTE -> {
+                    Event literal = reader.attributeValue();
+                    if (handler.onAttribute(reader.name(), literal != null) != SKIP && literal != null) {
+                        push(handler, reader, literal);
+                    }
+                }
+                case START_OBJECT -> {
+                    if (handler.onObjectStart() == SKIP) reader.skip();
+                }
+                case FIELD_NAME -> {
+                    if (handler.onField(reader.name()) == SKIP) reader.skip();
+                }
+                case END_OBJECT -> handler.onObjectEnd();
+                case START_ARRAY -> {
+                    if (handler.onArrayStart() == SKIP) reader.skip();
+                }
+                case END_ARRAY -> handler.onArrayEnd();
+                case START_TUPLE -> {
+                    if (handler.onTupleStart() == SKIP) reader.skip();
+                }
+                case END_TUPLE -> handler.onTupleEnd();
+                default -> push(handler, reader, event);
+            }
         }
+    }
 
-        while (!source.isEOF()) {
-            Statement stmt = parseStatement();
-            context.addStatement(stmt);
-            source.skipWhitespace();
+    private static void push(AnvilHandler handler, AnvilReader reader, Event scalar) {
+        switch (scalar) {
+            case STRING  -> handler.onString(reader.text());
+            case NUMBER  -> {
+                if (reader.isInteger()) handler.onLong(reader.longValue());
+                else handler.onDouble(reader.doubleValue());
+            }
+            case HEX     -> handler.onHex(reader.longValue());
+            case BOOLEAN -> handler.onBoolean(reader.booleanValue());
+            case NULL    -> handler.onNull();
+            case BARE    -> handler.onBare(reader.text());
+            case BLOB    -> handler.onBlob(reader.tag(), reader.source().substring(reader.start() + 1, reader.end() - 1));
+            default      -> throw new IllegalStateException("Not a value: " + scalar);
         }
-
-        context.markParsed();
     }
 
-    private Statement parseStatement() {
-        String key = readIdentifier();
-        if (key.isEmpty()) raise(EXPECTED_IDENTIFIER);
+    /**
+     * Projection mode: keeps only the statements and fields {@code projection} selects, parsing a
+     * selected value in full. Everything else is passed over by {@link AnvilReader#skip()}, which
+     * builds no values and interns no names. Statements and objects left with nothing selected
+     * are dropped; a trimmed object keeps its base.
+     */
+    public static void parse(Context context, Projection projection) {
+        new AnvilParser(context).parseProjected(projection.matches(context.symbols()));
+    }
 
-        String base = null;
-        source.skipWhitespace();
-        if (source.is(":") && !source.isOperator(ASSIGN)) {
-            source.consume(1);
-            source.skipWhitespace();
-            base = readIdentifier();
-            if (base.isEmpty()) raise(EXPECTED_IDENTIFIER);
-            source.skipWhitespace();
+    /**
+     * Lazy mode: reads the module attributes into the context, then indexes each statement's
+     * key, base, attributes and value span. Value bodies are passed over by bracket matching and
+     * only parsed, and checked, when {@link StatementIndex#statement(int)} asks for them.
+     */
+    public static StatementIndex index(Context context) {
+        if (!context.source().retainsText()) {
+            throw new IllegalArgumentException("Lazy parsing needs a source that keeps its text");
         }
+        return new AnvilParser(context).indexSource();
+    }
 
-        List<Attribute> attrs = parseAttributeBlock();
-        source.skipWhitespace();
-
-        if (!source.isOperator(ASSIGN)) raise(EXPECTED_ASSIGN);
-        source.consumeOperator(ASSIGN);
-        source.skipWhitespace();
-
-        int valueStart = source.position();
-        Value value = parseValue(base);
-        int valueEnd = source.position();
-
-        if (!attrs.isEmpty()) {
-            value.getAttributes().addAll(attrs);
+    /**
+     * Tape mode: encodes every statement into the primitive arrays of a {@link Tape} instead of
+     * building a {@link Value} per node; read it through {@link Tape.Node} views. Module
+     * attributes go into the context as usual. Nodes read their text back from the source, so
+     * it has to keep it.
+     */
+    public static Tape tape(Context context) {
+        if (!context.source().retainsText()) {
+            throw new IllegalArgumentException("Tape mode needs a source that keeps its text");
         }
+        return new AnvilParser(context).tapeSource();
+    }
 
-        if (source.isOperator(COMMA)) source.consumeOperator(COMMA);
+    /**
+     * Build mode: makes every statement and value through {@code builder} as the events arrive,
+     * so its own tree comes out of the one pass; see {@link TreeBuilder}. No {@link Value} is
+     * built and the context is not filled, though its statement filter still applies. The filter
+     * is handed one read-only view that is refilled for every statement; copy it to keep it.
+     */
+    public static <V, A> void build(Context context, TreeBuilder<V, A> builder) {
+        new AnvilParser(context).new Build<>(builder).run();
+    }
 
-        Assignment assignment = new Assignment(key, attrs, value);
-        context.addIdentifier(key);
-        return assignment;
+    // Parses one value of an index; the reader stops after it.
+    static Value parseValue(Context context, TokenStream tokens, int token, int base) {
+        AnvilReader reader = new AnvilReader(context.source(), context.symbols(), tokens, token, base);
+        reader.next();
+        return new AnvilParser(context, reader).parseValue(reader.base());
     }
 
-    private Value parseValue(String base) {
-        //  base is only used for objects
-        if (source.isOperator(L_BRACE))   return parseObject(base);
-        if (source.isOperator(L_BRACKET)) return parseArray();
-        if (source.isOperator(L_PAREN))   return parseTuple();
-        if (source.is("\""))              return parseString();
-
-        int hexPrefix = source.matchHexPrefix();
-        if (hexPrefix > 0) {
-            source.consume(hexPrefix);
-            return parseHexAfterPrefix(hexPrefix == 1);
+    // Session entry: the reader has already been reset onto the context's source.
+    void parseInto(Context target) {
+        context = target;
+        symbols = target.symbols();
+        depth = 0;
+        try {
+            parseSource();
+        } finally {
+            context = null;
+            symbols = null;
         }
+    }
 
-        if (source.is("true"))  { source.consume(4); return context.bool(true,  source.position()-4, source.position()); }
-        if (source.is("false")) { source.consume(5); return context.bool(false, source.position()-5, source.position()); }
-        if (source.is("null"))  { source.consume(4); return context.nullVal(    source.position()-4, source.position()); }
-
-        if (source.isOperator(AT) || source.isOperator(BACKTICK)) return parseBlob();
-
-        int bareLen = matchBareLiteral();
-        if (bareLen > 0) {
-            source.consume(bareLen);
-            return context.bare(source.position() - bareLen, source.position());
+    private void parseSource() {
+        Event event = parseModuleAttributes();
+        for (; event == START_STATEMENT; event = reader.next()) {
+            Statement statement = parseStatement();
+            if (statement != null) context.addStatement(statement);
         }
 
-        return parseNumber();
+        context.markParsed();
     }
 
-    private Value parseObject(String base) {
-        int start = source.position();
-        source.consumeOperator(L_BRACE);
-        source.skipWhitespace();
-
-        if (source.isOperator(R_BRACE)) raise(EMPTY_OBJECT_NOT_ALLOWED);
-
-        List<Map.Entry<String, Value>> fields = new ArrayList<>();
-        List<Attribute> objAttrs = new ArrayList<>();
-        Set<String> seen = new HashSet<>();
-
-        while (!source.isOperator(R_BRACE)) {
-            String key = readIdentifier();
-            if (key.isEmpty()) raise(EXPECTED_IDENTIFIER);
-            if (!seen.add(key)) raise(DUPLICATE_FIELD_IN_OBJECT);
-
-            source.skipWhitespace();
-            List<Attribute> fieldAttrs = parseAttributeBlock();
-            source.skipWhitespace();
-
-            if (!source.isOperator(ASSIGN)) raise(EXPECTED_ASSIGN);
-            source.consumeOperator(ASSIGN);
-            source.skipWhitespace();
-
-            //  TODO: Nested inheritance is not supported (yet) ... is it needed?
-            Value value = parseValue(null);
-            if (!fieldAttrs.isEmpty()) value.getAttributes().addAll(fieldAttrs);
-            fields.add(Map.entry(key, value));
-
-            source.skipWhitespace();
-            if (source.isOperator(COMMA)) {
-                source.consumeOperator(COMMA);
-                source.skipWhitespace();
+    private void parseProjected(Projection.Matches matches) {
+        int[] roots = matches.roots();
+        Event event = parseModuleAttributes();
+        for (; event == START_STATEMENT; event = reader.next()) {
+            int[] live = matches.step(roots, reader.symbol());
+            if (live == null) {
+                reader.skip();              // to END_STATEMENT
+                continue;
             }
+            Statement statement = matches.complete(live) ? parseStatement() : projectStatement(matches, live);
+            if (statement != null) context.addStatement(statement);
         }
 
-        source.consumeOperator(R_BRACE);
-        return context.object(fields, objAttrs, base, start, source.position());
+        context.markParsed();
     }
 
-    private Value parseArray() {
-        int start = source.position();
-        source.consumeOperator(L_BRACKET);
-        source.skipWhitespace();
-
-        List<Value> elements = new ArrayList<>();
-        List<Attribute> attrs = new ArrayList<>();
-
-        while (!source.isOperator(R_BRACKET)) {
-            //  TODO: Nested inheritance is not supported (yet) ...
-            //   is it needed? an array of objects with inheritance? the real problem is
-            //   that objects in an array are really anonymous ... they're retrieved by
-            //   an index, not a field identifier ... so the syntax would be weird.
-            elements.add(parseValue(null));
-            source.skipWhitespace();
-            if (!source.isOperator(R_BRACKET)) {
-                if (!source.isOperator(COMMA)) raise(MISSING_COMMA_IN_ARRAY);
-                source.consumeOperator(COMMA);
-                source.skipWhitespace();
-            }
+    // Null when nothing under the statement is selected.
+    private Statement projectStatement(Projection.Matches matches, int[] live) {
+        int key = reader.symbol();
+        int baseSymbol = reader.baseSymbol();
+        String base = baseSymbol >= 0 ? symbols.name(baseSymbol) : null;
+        List<Attribute> attrs = parseAttributes();
+        if (!keep(attrs)) {
+            reader.skip();
+            reader.next(); // END_STATEMENT
+            return null;
         }
+        Value value = projectValue(matches, live, base);
+        reader.next(); // END_STATEMENT
+        if (value == null) return null;
 
-        source.consumeOperator(R_BRACKET);
-        return context.array(elements, attrs, start, source.position());
+        context.addIdentifier(key);
+        if (base != null) context.addIdentifier(baseSymbol);
+        if (!attrs.isEmpty()) value.getAttributes().addAll(attrs);
+        return new Assignment(symbols, key, attrs, value);
     }
 
-    private Value parseTuple() {
-        int start = source.position();
-        source.consumeOperator(L_PAREN);
-        source.skipWhitespace();
-
-        if (source.isOperator(R_PAREN)) {
-            raise(EMPTY_TUPLE_ELEMENT);
+    // Only objects have anything to select below them; anything else is skipped.
+    private Value projectValue(Projection.Matches matches, int[] live, String base) {
+        if (reader.event() != START_OBJECT) {
+            reader.skip();
+            return null;
         }
-
-        List<Value> elements = new ArrayList<>();
-        List<Attribute> attrs = new ArrayList<>();
-
-        // First element (required)
-
-        //  TODO: Nested inheritance is not supported ...
-        //   would it even make sense for objects nested in tuples?
-        elements.add(parseValue(null));
-        source.skipWhitespace();
-
-        // Zero or more: , value
-        while (source.isOperator(COMMA)) {
-            source.consumeOperator(COMMA);
-            source.skipWhitespace();
-
-            if (source.isOperator(R_PAREN)) {
-                raise(EXPECTED_VALUE);
+        List<Map.Entry<String, Value>> fields = scratch(fieldLists);
+        depth++;
+        while (reader.next() == FIELD_NAME) {
+            int key = reader.symbol();
+            int[] inner = matches.step(live, key);
+            if (inner == null) {
+                reader.skip();
+                continue;
             }
-
-            elements.add(parseValue(null));
-            source.skipWhitespace();
+            List<Attribute> fieldAttrs = parseAttributes();
+            Value value = matches.complete(inner) ? parseValue(null) : projectValue(matches, inner, null);
+            if (value == null) continue;
+            context.addIdentifier(key);
+            if (!fieldAttrs.isEmpty()) value.getAttributes().addAll(fieldAttrs);
+            fields.add(new Field(symbols, key, value));
         }
+        depth--;
+        Value object = fields.isEmpty() ? null : context.object(fields, List.of(), base, reader.start(), reader.end());
+        fields.clear();
+        return object;
+    }
 
-        // Closing parenthesis
-        if (!source.isOperator(R_PAREN)) {
-            raise(EXPECTED_TUPLE_CLOSE);
+    private StatementIndex indexSource() {
+        StatementIndex index = new StatementIndex(context);
+        for (Event event = parseModuleAttributes(); event == START_STATEMENT; event = reader.next()) {
+            int key = reader.symbol();
+            int base = reader.baseSymbol();
+            List<Attribute> attrs = parseAttributes();
+            int start = reader.tokens().start(reader.valueToken());
+            reader.skip();
+            if (keep(attrs)) {
+                context.addIdentifier(key);
+                if (base >= 0) context.addIdentifier(base);
+                index.add(key, base, attrs, start, reader.previousEnd());
+            }
+            reader.next(); // END_STATEMENT
         }
+        return index;
+    }
 
-        if (elements.size() < 2) {
-            raise(TUPLE_TOO_SHORT);
+    private Tape tapeSource() {
+        Tape tape = new Tape(context);
+        for (Event event = parseModuleAttributes(); event == START_STATEMENT; event = reader.next()) {
+            int key = reader.symbol();
+            int base = reader.baseSymbol();
+            int start = reader.start(), end = reader.end();
+            List<Attribute> attrs = parseAttributes();
+            if (!keep(attrs)) {
+                reader.skip();
+                reader.next(); // END_STATEMENT
+                continue;
+            }
+            context.addIdentifier(key);
+            if (base >= 0) context.addIdentifier(base);
+            tape.statement(key, base, start, end);
+            for (Attribute attr : attrs) tape.attribute(attr);
+            tapeValue(tape, !attrs.isEmpty());
+            reader.next(); // END_STATEMENT
         }
-
-        source.consumeOperator(R_PAREN);
-        return context.tuple(elements, attrs, start, source.position());
+        return tape.trim();
     }
 
-    private Value parseString() {
-        Content content = parseContent(QUOTE);
-        return context.string(content.start(), content.end());
+    // Attributes only go on composites; a scalar that has them is rejected as the tree parser does.
+    private void tapeValue(Tape tape, boolean attributed) {
+        switch (reader.event()) {
+            case START_OBJECT -> {
+                int object = tape.open(Tape.OBJECT);
+                while (reader.next() == FIELD_NAME) {
+                    int key = reader.symbol();
+                    context.addIdentifier(key);
+                    tape.add(Tape.FIELD, reader.start(), reader.end(), key);
+                    List<Attribute> attrs = parseAttributes();
+                    for (Attribute attr : attrs) tape.attribute(attr);
+                    tapeValue(tape, !attrs.isEmpty());
+                }
+                tape.close(object, reader.start(), reader.end());
+            }
+            case START_ARRAY, START_TUPLE -> {
+                Event close = reader.event() == START_ARRAY ? END_ARRAY : END_TUPLE;
+                int composite = tape.open(close == END_ARRAY ? Tape.ARRAY : Tape.TUPLE);
+                while (reader.next() != close) tapeValue(tape, false);
+                tape.close(composite, reader.start(), reader.end());
+            }
+            default -> {
+                if (attributed) throw new UnsupportedOperationException("Attributes not supported on " + reader.event());
+                tapeScalar(tape, reader.event());
+            }
+        }
     }
 
-    private Value parseBlob() {
-        String attribute = null;
-        int attrStart = -1;
-
-        if (source.isOperator(AT)) {
-            source.consumeOperator(AT);
-            attrStart = source.position();
-            attribute = readIdentifier();
-            if (attribute.isEmpty()) raise(EXPECTED_IDENTIFIER);
+    private void tapeScalar(Tape tape, Event kind) {
+        int start = reader.start();
+        int end = reader.end();
+        int escaped = reader.escaped() ? Tape.ESCAPED : 0;
+        switch (kind) {
+            case STRING  -> tape.add(Tape.STRING | escaped, start, end, -1);
+            case NUMBER  -> {
+                if (reader.isInteger()) tape.number(Tape.LONG, start, end, reader.longValue());
+                else tape.number(Tape.DOUBLE, start, end, Double.doubleToRawLongBits(reader.doubleValue()));
+            }
+            case HEX     -> tape.number(Tape.HEX, start, end, reader.longValue());
+            case BOOLEAN -> tape.add(Tape.BOOLEAN, start, end, reader.booleanValue() ? 1 : 0);
+            case NULL    -> tape.add(Tape.NULL, start, end, -1);
+            case BARE    -> tape.add(Tape.BARE, start, end, -1);
+            case BLOB    -> {
+                if (reader.tagSymbol() >= 0) context.addIdentifier(reader.tagSymbol());
+                tape.add(Tape.BLOB | escaped, start, end, reader.tagSymbol());
+            }
+            default      -> throw new IllegalStateException("Not a value: " + kind);
         }
-        Content content = parseContent(BACKTICK); // includes backticks
-        return context.blob(attribute, content.start(), content.end());
     }
 
-    private record Content(int start, int end) {}
-    private Content parseContent(Operator delimiter) {
-        if (delimiter != QUOTE && delimiter != Operator.BACKTICK) {
-            raise(ErrorCode.UNEXPECTED_TOKEN);
+    // Build mode over this parser's reader; scratch lists are its own, by depth like ours.
+    private final class Build<V, A> {
+        private final TreeBuilder<V, A> builder;
+        private final List<List<V>> valueLists = new ArrayList<>();
+        private final List<List<String>> keyLists = new ArrayList<>();
+        private final List<List<A>> attributeLists = new ArrayList<>();
+        private final List<Numbers> numberBuffers = new ArrayList<>();
+        private final Predicate<List<Attribute>> filter = context.statementFilter();
+        private final List<Attribute> filtered = new ArrayList<>();   // only kept for the filter
+        private final List<Attribute> filteredView = Collections.unmodifiableList(filtered);
+
+        Build(TreeBuilder<V, A> builder) {
+            this.builder = builder;
         }
 
-        int start = -1;
-        // if QUOTE, we want to omit the surrounding quotes
-        if (delimiter == QUOTE) {
-            source.consumeOperator(delimiter);
-            start = source.position();
-        } else {
-            // if BACKTICK, we want to capture the surrounding backticks
-            start = source.position();
-            source.consumeOperator(delimiter);
-        }
-        while (!source.isEOF()) {
-            if (source.isOperator(delimiter) && !source.isEscaped(source.position())) {
-                break;                       // found unescaped closing delimiter
+        void run() {
+            depth = 0;
+            Event event = reader.next();
+            if (event == ATTRIBUTE) {
+                List<A> attrs = list(attributeLists);
+                do attrs.add(attribute()); while ((event = reader.next()) == ATTRIBUTE);
+                builder.moduleAttributes(attrs);
+                attrs.clear();
+            }
+            for (; event == START_STATEMENT; event = reader.next()) {
+                String key = reader.name();
+                String base = reader.base();
+                List<A> attrs = attributes();
+                if (filter != null && !filter.test(filteredView)) {
+                    reader.skip();
+                } else {
+                    builder.statement(key, base, attrs, value(base, attrs));
+                }
+                attrs.clear();
+                reader.next(); // END_STATEMENT
             }
-            source.consume();                       // normal char or escaped sequence
         }
 
-        if (!source.isOperator(delimiter)) {
-            raise(delimiter == QUOTE ? UNTERMINATED_STRING : UNTERMINATED_BLOB);
+        // The attributes ahead, in the list for the current depth; the reader is left after them.
+        private List<A> attributes() {
+            List<A> attrs = list(attributeLists);
+            filtered.clear();
+            while (reader.next() == ATTRIBUTE) attrs.add(attribute());
+            return attrs;
         }
 
-        if (delimiter == QUOTE) {
-            // for QUOTE, capture up to but not including closing "
-            Content content = new Content(start, source.position());
-            source.consumeOperator(delimiter);      // consume closing "
-            return content;
+        private A attribute() {
+            Event literal = reader.attributeValue();
+            if (filter != null && depth == 0) filtered.add(AnvilParser.this.attribute());
+            return builder.attribute(reader.name(), literal == null ? null : scalar(literal));
         }
 
-        source.consumeOperator(delimiter);          // consume closing `
-        // Return the exact text we just parsed (including delimiters)
-        return new Content(start, source.position());
-    }
-
-    private Value parseHexAfterPrefix(boolean isHash) {
-        int start = source.position() - (isHash ? 1 : 2);
-        StringBuilder digits = new StringBuilder();
+        private V value(String base, List<A> attrs) {
+            Event event = reader.event();
+            if (event != START_OBJECT && event != START_ARRAY && event != START_TUPLE) {
+                if (!attrs.isEmpty()) throw new UnsupportedOperationException("Attributes not supported on " + event);
+                return scalar(event);
+            }
+            List<V> values = list(valueLists);
+            V value;
+            if (event == START_OBJECT) {
+                depth++;
+                List<String> keys = list(keyLists);
+                while (reader.next() == FIELD_NAME) {
+                    keys.add(reader.name());
+                    List<A> fieldAttrs = attributes();
+                    values.add(value(null, fieldAttrs));
+                    fieldAttrs.clear();
+                }
+                depth--;
+                value = builder.object(base, keys, values, attrs);
+                keys.clear();
+            } else {
+                Event close = event == START_ARRAY ? END_ARRAY : END_TUPLE;
+                Numbers numbers = numbers();
+                depth++;
+                // numbers go into the buffer until the first element that is not like the rest
+                while (reader.next() != close) {
+                    if (values.isEmpty() && numbers.add()) continue;
+                    numbers.moveTo(values);
+                    values.add(value(null, List.of()));
+                }
+                depth--;
+                value = numbers.size > 0 ? numbers.build(close == END_ARRAY, attrs)
+                        : close == END_ARRAY ? builder.array(values, attrs) : builder.tuple(values, attrs);
+            }
+            values.clear();
+            return value;
+        }
 
-        while (source.isHexDigit(source.peek()) || source.peek() == '_') {
-            char c = source.peek();
-            if (source.isHexDigit(c)) digits.append(c);
-            source.consume();
+        private V scalar(Event kind) {
+            return switch (kind) {
+                case STRING  -> builder.string(reader.text());
+                case NUMBER  -> reader.isInteger()
+                        ? builder.longValue(reader.longValue())
+                        : builder.doubleValue(reader.doubleValue());
+                case HEX     -> builder.hexValue(reader.longValue());
+                case BOOLEAN -> builder.booleanValue(reader.booleanValue());
+                case NULL    -> builder.nullValue();
+                case BARE    -> builder.bare(reader.text());
+                case BLOB    -> builder.blob(reader.tag(), reader.text());
+                default      -> throw new IllegalStateException("Not a value: " + kind);
+            };
         }
 
-        long value = Long.parseLong(digits.toString(), 16);
-        return isHash
-                ? context.hex(value, start, source.position())
-                : context.longVal(value, start, source.position());
-    }
+        // The list for the current depth, emptied.
+        private <T> List<T> list(List<List<T>> lists) {
+            while (lists.size() <= depth) lists.add(new ArrayList<>());
+            List<T> list = lists.get(depth);
+            list.clear();
+            return list;
+        }
 
-    private Value parseNumber() {
-        int start = source.position();
-        StringBuilder buf = new StringBuilder();
+        private Numbers numbers() {
+            while (numberBuffers.size() <= depth) numberBuffers.add(new Numbers());
+            Numbers numbers = numberBuffers.get(depth);
+            numbers.size = 0;
+            return numbers;
+        }
 
-        if (source.peek() == '+' || source.peek() == '-') buf.append(source.consume());
+        // The leading run of an array or tuple while all of it is integers (hex included, as in
+        // data.Numbers), or all decimals.
+        private final class Numbers {
+            long[] longs = new long[8];
+            double[] doubles = new double[8];
+            boolean[] hex = new boolean[8];     // which integers were hex, should the run break
+            boolean integers;
+            int size;
+
+            // Takes the current element if it is a number like those before it.
+            boolean add() {
+                Event kind = reader.event();
+                if (kind != NUMBER && kind != HEX) return false;
+                boolean integer = kind == HEX || reader.isInteger();
+                if (size == 0) integers = integer;
+                else if (integer != integers) return false;
+                if (size == longs.length) {
+                    longs = Arrays.copyOf(longs, size * 2);
+                    doubles = Arrays.copyOf(doubles, size * 2);
+                    hex = Arrays.copyOf(hex, size * 2);
+                }
+                hex[size] = kind == HEX;
+                if (integer) longs[size++] = reader.longValue();
+                else doubles[size++] = reader.doubleValue();
+                return true;
+            }
 
-        boolean hasDigit = false;
-        while (source.isDigit(source.peek()) || source.peek() == '_') {
-            char c = source.peek();
-            if (source.isDigit(c)) { buf.append(c); hasDigit = true; }
-            source.consume();
-        }
+            // Hands what was taken to the builder one by one, once the run is broken.
+            void moveTo(List<V> values) {
+                for (int i = 0; i < size; i++) {
+                    values.add(!integers ? builder.doubleValue(doubles[i])
+                            : hex[i] ? builder.hexValue(longs[i]) : builder.longValue(longs[i]));
+                }
+                size = 0;
+            }
 
-        boolean isFloat = false;
-        if (source.peek() == '.') {
-            buf.append(source.consume());
-            isFloat = true;
-            while (source.isDigit(source.peek()) || source.peek() == '_') {
-                if (source.isDigit(source.peek())) buf.append(source.consume());
-                else source.consume();
+            V build(boolean array, List<A> attrs) {
+                if (integers) {
+                    long[] copy = Arrays.copyOf(longs, size);
+                    return array ? builder.longArray(copy, attrs) : builder.longTuple(copy, attrs);
+                }
+                double[] copy = Arrays.copyOf(doubles, size);
+                return array ? builder.doubleArray(copy, attrs) : builder.doubleTuple(copy, attrs);
             }
         }
+    }
 
-        if (source.peek() == 'e' || source.peek() == 'E') {
-            buf.append(source.consume());
-            isFloat = true;
-            if (source.peek() == '+' || source.peek() == '-') buf.append(source.consume());
-            while (source.isDigit(source.peek()) || source.peek() == '_') {
-                if (source.isDigit(source.peek())) buf.append(source.consume());
-                else source.consume();
-            }
+    // Returns the first event after them.
+    private Event parseModuleAttributes() {
+        Event event = reader.next();
+        if (event == ATTRIBUTE) {
+            List<Attribute> attrs = attributeList;
+            attrs.clear();
+            do attrs.add(attribute()); while ((event = reader.next()) == ATTRIBUTE);
+            context.addAllAttributes(attrs);
+            attrs.clear();
         }
+        return event;
+    }
 
-        if (!hasDigit) raise(INVALID_NUMBER);
+    // Null when the statement filter rejects it; its value is then skipped unparsed.
+    private Statement parseStatement() {
+        int key = reader.symbol();
+        int baseSymbol = reader.baseSymbol();
+        List<Attribute> attrs = parseAttributes();
+        if (!keep(attrs)) {
+            reader.skip();
+            reader.next(); // END_STATEMENT
+            return null;
+        }
 
-        String clean = buf.toString().replace("_", "");
-        if (isFloat) {
-            double d = Double.parseDouble(clean);
-            return context.doubleVal(d, start, source.position());
-        } else {
-            long l = Long.parseLong(clean);
-            return context.longVal(l, start, source.position());
+        context.addIdentifier(key);
+        String base = null;
+        if (baseSymbol >= 0) {
+            context.addIdentifier(baseSymbol);
+            base = symbols.name(baseSymbol);
+        }
+        Value value = parseValue(base);
+        if (!attrs.isEmpty()) {
+            value.getAttributes().addAll(attrs);
         }
+
+        reader.next(); // END_STATEMENT
+        return new Assignment(symbols, key, attrs, value);
     }
 
-    private List<Attribute> parseAttributeBlock() {
-        if (!source.is("@[")) return List.of();
-        source.consume(2); // "@["
-        source.skipWhitespace();
+    private boolean keep(List<Attribute> attrs) {
+        Predicate<List<Attribute>> filter = context.statementFilter();
+        return filter == null || filter.test(attrs);
+    }
 
-        List<Attribute> attrs = new ArrayList<>();
-        Set<String> seen = new HashSet<>();
+    // Collects the ATTRIBUTE events ahead; the reader is left on the event after them.
+    private List<Attribute> parseAttributes() {
+        if (reader.next() != ATTRIBUTE) return List.of();
+        List<Attribute> attrs = attributeList;
+        attrs.clear();
+        do attrs.add(attribute()); while (reader.next() == ATTRIBUTE);
+        List<Attribute> copy = List.copyOf(attrs);
+        attrs.clear();
+        return copy;
+    }
 
-        while (!source.is("]")) {
-            String key = readIdentifier();
-            if (key.isEmpty()) raise(INVALID_ATTRIBUTE);
-            if (!seen.add(key)) raise(DUPLICATE_ATTRIBUTE_KEY);
+    private Attribute attribute() {
+        context.addIdentifier(reader.symbol());
+        Event literal = reader.attributeValue();
+        return new Attribute(symbols, reader.symbol(), literal == null ? null : scalar(literal));
+    }
 
-            Value value = null;
-            source.skipWhitespace();
-            if (source.isOperator(EQUAL)) {
-                source.consumeOperator(EQUAL);
-                source.skipWhitespace();
-                value = parseLiteralValue();
-            }
+    private Value parseValue(String base) {
+        //  base is only used for objects
+        return switch (reader.event()) {
+            case START_OBJECT -> parseObject(base);
+            case START_ARRAY  -> parseArray();
+            case START_TUPLE  -> parseTuple();
+            default           -> scalar(reader.event());
+        };
+    }
 
-            attrs.add(new Attribute(key, value));
+    private Value parseObject(String base) {
+        List<Map.Entry<String, Value>> fields = scratch(fieldLists);
+        depth++;
+        while (reader.next() == FIELD_NAME) {
+            int key = reader.symbol();
+            context.addIdentifier(key);
 
-            source.skipWhitespace();
-            if (!source.is("]") && !source.isOperator(COMMA)) raise(MISSING_COMMA_IN_ATTRIBUTES);
-            if (source.isOperator(COMMA)) source.consumeOperator(COMMA);
-            source.skipWhitespace();
+            List<Attribute> fieldAttrs = parseAttributes();
+
+            //  TODO: Nested inheritance is not supported (yet) ... is it needed?
+            Value value = parseValue(null);
+            if (!fieldAttrs.isEmpty()) value.getAttributes().addAll(fieldAttrs);
+            fields.add(new Field(symbols, key, value));
         }
+        depth--;
+        Value object = context.object(fields, List.of(), base, reader.start(), reader.end());
+        fields.clear();
+        return object;
+    }
 
-        source.consume(1); // "]"
-        return List.copyOf(attrs);
+    private Value parseArray() {
+        List<Value> elements = scratch(elementLists);
+        depth++;
+        //  TODO: Nested inheritance is not supported (yet) ...
+        //   is it needed? an array of objects with inheritance? the real problem is
+        //   that objects in an array are really anonymous ... they're retrieved by
+        //   an index, not a field identifier ... so the syntax would be weird.
+        while (reader.next() != END_ARRAY) elements.add(parseValue(null));
+        depth--;
+        Value array = context.array(elements, List.of(), reader.start(), reader.end());
+        elements.clear();
+        return array;
     }
 
-    private Value parseLiteralValue() {
-        int save = source.position();
-        Value v = parseValue(null);     // no inheritance support for literals
-        if (v instanceof ObjectValue || v instanceof ArrayValue || v instanceof TupleValue || v instanceof BlobValue) {
-            source.setPosition(save, source.line(), source.column());
-            raise(INVALID_VALUE_IN_ATTRIBUTE);
-        }
-        return v;
-    }
-
-    // ------------------------------------------------------------------ //
-    // Identifier / bare literal helpers (now fully Source-clean)
-    // ------------------------------------------------------------------ //
-    private String readIdentifier() {
-        int len = matchIdentifier();
-        if (len == 0) raise(EXPECTED_IDENTIFIER);
-        String id = source.substring(source.position(), source.position() + len);
-        source.consume(len);
-        context.addIdentifier(id);
-        return id;
-    }
-
-    private int matchIdentifier() {
-        if (!source.isIdentifierStart(source.peek())) return 0;
-        int len = 1;
-        while (!source.isEOF(len) && source.isIdentifierPart(source.peek(len))) len++;
-        return len;
-    }
-
-    private int matchBareLiteral() {
-        if (!source.isAlpha(source.peek())) return 0;
-        int len = 1;
-        while (!source.isEOF(len)) {
-            char c = source.peek(len);
-            if (!(Character.isLetterOrDigit(c) || ":._".indexOf(c) != -1)) break;
-            len++;
-        }
-        return len;
+    private Value parseTuple() {
+        List<Value> elements = scratch(elementLists);
+        depth++;
+        //  TODO: Nested inheritance is not supported ...
+        //   would it even make sense for objects nested in tuples?
+        while (reader.next() != END_TUPLE) elements.add(parseValue(null));
+        depth--;
+        Value tuple = context.tuple(elements, List.of(), reader.start(), reader.end());
+        elements.clear();
+        return tuple;
     }
 
-    private void raise(ErrorCode code) {
-        throw new ParseException(code, source.line(), source.column());
+    // The list for the composite opening at the current depth, emptied.
+    private <T> List<T> scratch(List<List<T>> lists) {
+        while (lists.size() <= depth) lists.add(new ArrayList<>());
+        List<T> list = lists.get(depth);
+        list.clear();
+        return list;
+    }
+
+    private Value scalar(Event kind) {
+        int start = reader.start();
+        int end = reader.end();
+        return switch (kind) {
+            case STRING  -> context.string(start, end, reader.escaped());
+            case NUMBER  -> reader.isInteger()
+                    ? context.longVal(reader.longValue(), start, end)
+                    : context.doubleVal(reader.doubleValue(), start, end);
+            case HEX     -> context.hex(reader.longValue(), start, end);
+            case BOOLEAN -> context.bool(reader.booleanValue(), start, end);
+            case NULL    -> context.nullVal(start, end);
+            case BARE    -> context.bare(start, end);
+            case BLOB    -> {
+                if (reader.tagSymbol() >= 0) context.addIdentifier(reader.tagSymbol());
+                yield context.blob(reader.tag(), start, end, reader.escaped());
+            }
+            default      -> throw new IllegalStateException("Not a value: " + kind);
+        };
     }
-}
\ No newline at end of file
+}
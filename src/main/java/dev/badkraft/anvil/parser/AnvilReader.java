@@ -0,0 +1,677 @@
+/// src/main/java/dev/badkraft/anvil/parser/AnvilReader.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Source;
+import dev.badkraft.anvil.core.data.SymbolTable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+import static dev.badkraft.anvil.parser.ErrorCode.*;
+import static dev.badkraft.anvil.parser.Token.*;
+
+/**
+ * Pull reader over an AML document: each {@link #next()} advances to the next
+ * {@link Event}, and the getters describe that event. Nothing is built; values are
+ * read straight off the token stream, and names come back as {@link SymbolTable} ids.
+ * <p>
+ * This is the grammar: {@link AnvilParser} builds its tree from these events, so the
+ * reader enforces the same rules and reports the same {@link ParseException}s, in
+ * document order. A {@code ParseException} ends the document.
+ * <p>
+ * Event order:
+ * <pre>
+ *   document  := ATTRIBUTE* statement* END_DOCUMENT
+ *   statement := START_STATEMENT ATTRIBUTE* value END_STATEMENT
+ *   value     := START_OBJECT (FIELD_NAME ATTRIBUTE* value)* END_OBJECT
+ *              | START_ARRAY value* END_ARRAY
+ *              | START_TUPLE value value+ END_TUPLE
+ *              | STRING | BLOB | NUMBER | HEX | BOOLEAN | NULL | BARE
+ * </pre>
+ * An attribute's literal is read with the ATTRIBUTE event itself, see {@link #attributeValue()}.
+ * <p>
+ * {@link #skip()} passes over a statement, field or composite by matching brackets in the
+ * token stream; what it passes over is not validated.
+ */
+public final class AnvilReader {
+
+    public enum Event {
+        START_STATEMENT, END_STATEMENT, ATTRIBUTE,
+        START_OBJECT, FIELD_NAME, END_OBJECT,
+        START_ARRAY, END_ARRAY,
+        START_TUPLE, END_TUPLE,
+        STRING, BLOB, NUMBER, HEX, BOOLEAN, NULL, BARE,
+        END_DOCUMENT
+    }
+
+    // frame states; the frame kind is implied by its state
+    private static final int DOC_ATTRIBUTES  = 0;
+    private static final int DOC_STATEMENTS  = 1;
+    private static final int STMT_ATTRIBUTES = 2;
+    private static final int STMT_ASSIGN     = 3;
+    private static final int STMT_END        = 4;
+    private static final int OBJ_FIELD       = 5;
+    private static final int OBJ_ATTRIBUTES  = 6;
+    private static final int OBJ_ASSIGN      = 7;
+    private static final int OBJ_NEXT        = 8;
+    private static final int ARR_VALUE       = 9;
+    private static final int ARR_NEXT        = 10;
+    private static final int TUP_FIRST       = 11;
+    private static final int TUP_NEXT        = 12;
+    private static final int ATTR_NEXT       = 13;
+    private static final int ONE_VALUE       = 14;
+    private static final int ONE_VALUE_DONE  = 15;
+
+    private Source source;
+    private SymbolTable symbols;
+    private TokenStream tokens;
+    private int t;                  // current token
+    private int valueToken;         // first token of the latest value
+
+    // frame stack; frame 0 is the document
+    private int[] state = new int[16];
+    private int[] opened = new int[16];     // position of the opening token
+    private int[] counts = new int[16];     // tuple elements; statement base symbol
+    private BitSet[] seen = new BitSet[16]; // keys of an object or attribute block
+    private int top;
+
+    // the current event
+    private Event event;
+    private int symbol = -1;
+    private int base = -1;
+    private int tag = -1;
+    private Event attributeValue;
+    private int start = -1;
+    private int end = -1;
+    private boolean escaped;
+    private boolean integer;
+    private long longValue;
+    private double doubleValue;
+
+    private AnvilReader(Source source, SymbolTable symbols) {
+        reset(source, symbols);
+    }
+
+    // Idle until reset; a ParserSession keeps one for every document it reads.
+    AnvilReader() {}
+
+    // Reads the single value at token {@code token} of an existing complete stream, then ends.
+    AnvilReader(Source source, SymbolTable symbols, TokenStream tokens, int token, int base) {
+        this.source = source;
+        this.symbols = symbols;
+        this.tokens = tokens;
+        this.t = token;
+        this.state[0] = ONE_VALUE;
+        this.counts[0] = base;
+    }
+
+    /** Reads the context's source, from just past its header; the context itself is not filled. */
+    public static AnvilReader of(Context context) {
+        return new AnvilReader(context.source(), context.symbols());
+    }
+
+    /** Starts over on another document, keeping the token buffer and the frame stack. */
+    void reset(Source source, SymbolTable symbols) {
+        this.source = source;
+        this.symbols = symbols;
+        this.tokens = source.retainsText() ? AnvilLexer.lex(source, tokens) : AnvilLexer.stream(source);
+        t = 0;
+        valueToken = 0;
+        top = 0;
+        state[0] = DOC_ATTRIBUTES;
+        event = null;
+        symbol = base = tag = -1;
+        attributeValue = null;
+        start = end = -1;
+    }
+
+    // Drops the document once a session is done with it; the buffers stay.
+    void release() {
+        source = null;
+        symbols = null;
+    }
+
+    public boolean hasNext() {
+        return event != Event.END_DOCUMENT;
+    }
+
+    public Event next() {
+        if (event == Event.END_DOCUMENT) throw new NoSuchElementException();
+        while (true) {
+            switch (state[top]) {
+                case DOC_ATTRIBUTES -> {
+                    if (is(ATTR_OPEN)) openAttributes();
+                    else state[top] = DOC_STATEMENTS;
+                }
+                case DOC_STATEMENTS -> {
+                    if (is(EOF)) return event(Event.END_DOCUMENT);
+                    int key = readIdentifier();
+                    int b = -1;
+                    if (is(COLON)) {
+                        advance();
+                        b = readIdentifier();
+                    }
+                    push(STMT_ATTRIBUTES, tokenStart());
+                    counts[top] = b;
+                    symbol = key;
+                    base = b;
+                    return event(Event.START_STATEMENT);
+                }
+                case STMT_ATTRIBUTES -> {
+                    state[top] = STMT_ASSIGN;
+                    if (is(ATTR_OPEN)) openAttributes();
+                }
+                case STMT_ASSIGN -> {
+                    if (!is(ASSIGN)) raise(EXPECTED_ASSIGN);
+                    advance();
+                    state[top] = STMT_END;
+                    return value(counts[top]);
+                }
+                case STMT_END -> {
+                    // a separating comma has to follow the value directly
+                    if (is(COMMA) && tokenStart() == previousEnd()) advance();
+                    top--;
+                    return event(Event.END_STATEMENT);
+                }
+                case OBJ_FIELD -> {
+                    if (is(R_BRACE)) return close(Event.END_OBJECT);
+                    int key = readIdentifier();
+                    if (!mark(key)) throw error(DUPLICATE_FIELD_IN_OBJECT, previousEnd());
+                    state[top] = OBJ_ATTRIBUTES;
+                    symbol = key;
+                    return event(Event.FIELD_NAME);
+                }
+                case OBJ_ATTRIBUTES -> {
+                    state[top] = OBJ_ASSIGN;
+                    if (is(ATTR_OPEN)) openAttributes();
+                }
+                case OBJ_ASSIGN -> {
+                    if (!is(ASSIGN)) raise(EXPECTED_ASSIGN);
+                    advance();
+                    state[top] = OBJ_NEXT;
+                    return value(-1);
+                }
+                case OBJ_NEXT -> {
+                    if (is(COMMA)) advance();
+                    state[top] = OBJ_FIELD;
+                }
+                case ARR_VALUE -> {
+                    if (is(R_BRACKET)) return close(Event.END_ARRAY);
+                    state[top] = ARR_NEXT;
+                    return value(-1);
+                }
+                case ARR_NEXT -> {
+                    if (!is(R_BRACKET)) {
+                        if (!is(COMMA)) raise(MISSING_COMMA_IN_ARRAY);
+                        advance();
+                    }
+                    state[top] = ARR_VALUE;
+                }
+                case TUP_FIRST -> {
+                    state[top] = TUP_NEXT;
+                    counts[top] = 1;
+                    return value(-1);
+                }
+                case TUP_NEXT -> {
+                    if (is(COMMA)) {
+                        advance();
+                        if (is(R_PAREN)) raise(EXPECTED_VALUE);
+                        counts[top]++;
+                        return value(-1);
+                    }
+                    if (!is(R_PAREN)) raise(EXPECTED_TUPLE_CLOSE);
+                    if (counts[top] < 2) raise(TUPLE_TOO_SHORT);
+                    return close(Event.END_TUPLE);
+                }
+                case ATTR_NEXT -> {
+                    if (is(R_BRACKET)) {
+                        advance();
+                        top--;
+                    } else {
+                        return attribute();
+                    }
+                }
+                case ONE_VALUE -> {
+                    state[top] = ONE_VALUE_DONE;
+                    return value(counts[top]);
+                }
+                case ONE_VALUE_DONE -> {
+                    return event(Event.END_DOCUMENT);
+                }
+                default -> throw new IllegalStateException("Unknown reader state " + state[top]);
+            }
+        }
+    }
+
+    /**
+     * Skips what the current event opens, leaving the reader on the event that closes it:
+     * START_* moves to its END_*, START_STATEMENT to END_STATEMENT, FIELD_NAME to the last
+     * event of the field's value. Other events open nothing and are returned as they are.
+     */
+    public Event skip() {
+        return switch (event) {
+            case START_OBJECT, START_ARRAY, START_TUPLE -> skipComposite();
+            case START_STATEMENT -> {
+                skipMember();
+                yield next();               // END_STATEMENT
+            }
+            case FIELD_NAME -> skipMember();
+            default -> event;
+        };
+    }
+
+    // attributes, then the value
+    private Event skipMember() {
+        Event e;
+        do e = next(); while (e == Event.ATTRIBUTE);
+        return e == Event.START_OBJECT || e == Event.START_ARRAY || e == Event.START_TUPLE ? skipComposite() : e;
+    }
+
+    private Event skipComposite() {
+        for (int depth = 1; ; t++) {
+            switch (kind()) {
+                case L_BRACE, L_BRACKET, L_PAREN, ATTR_OPEN -> depth++;
+                case R_BRACE, R_BRACKET, R_PAREN -> {
+                    if (--depth == 0) return close(switch (state[top]) {
+                        case OBJ_FIELD, OBJ_ATTRIBUTES, OBJ_ASSIGN, OBJ_NEXT -> Event.END_OBJECT;
+                        case ARR_VALUE, ARR_NEXT -> Event.END_ARRAY;
+                        default -> Event.END_TUPLE;
+                    });
+                }
+                case EOF -> raise(switch (state[top]) {
+                    case OBJ_FIELD, OBJ_ATTRIBUTES, OBJ_ASSIGN, OBJ_NEXT -> EXPECTED_OBJECT_CLOSE;
+                    case ARR_VALUE, ARR_NEXT -> EXPECTED_ARRAY_CLOSE;
+                    default -> EXPECTED_TUPLE_CLOSE;
+                });
+                case ERROR -> throw error(tokens.error(), tokenEnd());
+                default -> { }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    // The current event
+    // ------------------------------------------------------------------ //
+    public Event event()            { return event; }
+    /** Open frames: 0 between statements, 1 inside a statement, +1 per enclosing composite. */
+    public int depth()              { return top; }
+    public SymbolTable symbols()    { return symbols; }
+    public Source source()          { return source; }
+
+    TokenStream tokens()            { return tokens; }
+    /** The token the latest value started at; with {@link #tokens()}, enough to read it again. */
+    int valueToken()                { return valueToken; }
+
+    /** START_STATEMENT, FIELD_NAME and ATTRIBUTE: the key, as a symbol id. */
+    public int symbol()             { return symbol; }
+    public String name()            { return symbols.name(symbol); }
+    /** START_STATEMENT and the START_OBJECT that is its value: the base symbol, or -1. */
+    public int baseSymbol()         { return base; }
+    public String base()            { return base < 0 ? null : symbols.name(base); }
+    /** BLOB: the tag symbol ({@code @md}), or -1. */
+    public int tagSymbol()          { return tag; }
+    public String tag()             { return tag < 0 ? null : symbols.name(tag); }
+    /** ATTRIBUTE: which scalar event its literal is, or null for a bare tag. */
+    public Event attributeValue()   { return attributeValue; }
+
+    /**
+     * Source span of the current scalar (or attribute literal), end exclusive: strings without
+     * their quotes, blobs with their backticks. START_* events span the opening bracket,
+     * END_* events the whole composite.
+     */
+    public int start()              { return start; }
+    public int end()                { return end; }
+    /** The raw source text of {@link #start()}..{@link #end()}. */
+    public String text()            { return source.substring(start, end); }
+    /** STRING and BLOB: whether the content holds a backslash. */
+    public boolean escaped()        { return escaped; }
+    /** NUMBER: whether it was written as an integer (or a {@code 0x} hex). */
+    public boolean isInteger()      { return integer; }
+    /** NUMBER (integer) and HEX. */
+    public long longValue()         { return longValue; }
+    /** NUMBER; integers widen. */
+    public double doubleValue()     { return doubleValue; }
+    public boolean booleanValue()   { return longValue != 0; }
+
+    // ------------------------------------------------------------------ //
+    // Values
+    // ------------------------------------------------------------------ //
+    private Event value(int base) {
+        valueToken = t;
+        return switch (kind()) {
+            case L_BRACE -> {
+                int open = tokenStart();
+                advance();
+                if (is(R_BRACE)) raise(EMPTY_OBJECT_NOT_ALLOWED);
+                push(OBJ_FIELD, open);
+                this.base = base;
+                yield opening(Event.START_OBJECT, open);
+            }
+            case L_BRACKET -> {
+                int open = tokenStart();
+                advance();
+                push(ARR_VALUE, open);
+                yield opening(Event.START_ARRAY, open);
+            }
+            case L_PAREN -> {
+                int open = tokenStart();
+                advance();
+                if (is(R_PAREN)) raise(EMPTY_TUPLE_ELEMENT);
+                push(TUP_FIRST, open);
+                yield opening(Event.START_TUPLE, open);
+            }
+            default -> scalar();
+        };
+    }
+
+    private Event scalar() {
+        return switch (kind()) {
+            case STRING -> {
+                // the token includes the quotes, the value does not
+                span(tokenStart() + 1, tokenEnd() - 1);
+                escaped = tokens.escaped(t);
+                advance();
+                yield event(Event.STRING);
+            }
+            case HEX       -> decode(true);
+            case TRUE      -> literal(Event.BOOLEAN, 1);
+            case FALSE     -> literal(Event.BOOLEAN, 0);
+            case NULL      -> literal(Event.NULL, 0);
+            case AT, BLOB  -> readBlob();
+            case BARE      -> literal(Event.BARE, 0);
+            case ATTR_OPEN -> throw error(EXPECTED_IDENTIFIER, tokenStart() + 1);   // '@' without a tag
+            case ERROR     -> throw error(tokens.error(), tokenEnd());
+            default        -> {
+                if (!is(NUMBER)) raise(INVALID_NUMBER);
+                yield decode(false);
+            }
+        };
+    }
+
+    private Event literal(Event kind, long value) {
+        span(tokenStart(), tokenEnd());
+        longValue = value;
+        advance();
+        return event(kind);
+    }
+
+    private Event opening(Event kind, int open) {
+        span(open, open + 1);
+        return event(kind);
+    }
+
+    private Event close(Event kind) {
+        span(opened[top], tokenEnd());
+        advance();
+        top--;
+        return event(kind);
+    }
+
+    private Event readBlob() {
+        int tag = -1;
+        if (is(AT)) {
+            int tagStart = tokenEnd();
+            advance();
+            if (!is(IDENT) || tokenStart() != tagStart) throw error(EXPECTED_IDENTIFIER, tagStart);
+            tag = readIdentifier();
+            if (!(is(BLOB) || is(ERROR)) || tokenStart() != previousEnd()) throw error(EXPECTED_BACKTICK, previousEnd());
+        }
+        if (is(ERROR)) throw error(tokens.error(), tokenEnd());
+
+        // includes backticks
+        span(tokenStart(), tokenEnd());
+        escaped = tokens.escaped(t);
+        this.tag = tag;
+        advance();
+        return event(Event.BLOB);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Attributes
+    // ------------------------------------------------------------------ //
+    private void openAttributes() {
+        int open = tokenStart();
+        advance(); // "@["
+        push(ATTR_NEXT, open);
+    }
+
+    private Event attribute() {
+        int key = readIdentifier();
+        if (!mark(key)) throw error(DUPLICATE_ATTRIBUTE_KEY, previousEnd());
+
+        Event literal = null;
+        if (is(EQUAL)) {
+            advance();
+            literal = attributeLiteral();
+        }
+
+        if (!is(R_BRACKET) && !is(COMMA)) raise(MISSING_COMMA_IN_ATTRIBUTES);
+        if (is(COMMA)) advance();
+
+        symbol = key;
+        attributeValue = literal;
+        return event(Event.ATTRIBUTE);
+    }
+
+    // Attribute content is a single literal. Anything else is still read through, so errors
+    // inside it come first, and is then rejected where it started.
+    private Event attributeLiteral() {
+        int save = tokenStart();
+        switch (kind()) {
+            case L_BRACE, L_BRACKET, L_PAREN -> {
+                int frame = top;
+                value(-1);
+                while (top > frame) next();
+            }
+            case AT, BLOB -> readBlob();
+            default -> { return scalar(); }
+        }
+        throw error(INVALID_VALUE_IN_ATTRIBUTE, save);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Numbers
+    // ------------------------------------------------------------------ //
+    // Numbers are decoded by walking the source over the token span; the source cursor
+    // belongs to the lexer while it lexes on demand, so it is put back afterwards.
+    private Event decode(boolean hex) {
+        int resume = source.position();
+        source.setPosition(tokenStart());
+        Event kind;
+        if (hex) {
+            boolean isHash = source.is('#');
+            source.consume(isHash ? 1 : 2);
+            kind = readHexDigits(isHash);
+        } else {
+            kind = readNumber();
+        }
+        source.setPosition(resume);
+        advance();
+        return kind;
+    }
+
+    private Event readHexDigits(boolean isHash) {
+        int start = source.position() - (isHash ? 1 : 2);
+        long value = 0;
+        boolean hasDigit = false;
+        while (source.isHexDigit(source.peek()) || source.peek() == '_') {
+            char c = source.consume();
+            if (c == '_') continue;
+            if ((value >>> 59) != 0) throw error(INVALID_HEX_LITERAL, start);   // > Long.MAX_VALUE
+            value = (value << 4) | Character.digit(c, 16);
+            hasDigit = true;
+        }
+        if (!hasDigit) throw error(INVALID_HEX_LITERAL, source.position());
+
+        number(true, value, value, start);
+        return isHash ? event(Event.HEX) : Event.NUMBER;
+    }
+
+    // Digits go straight into an unsigned mantissa: up to 19 significant digits, anything
+    // further only moves the decimal exponent. '_' separators are skipped in place.
+    private Event readNumber() {
+        int start = source.position();
+        boolean negative = source.peek() == '-';
+        if (negative || source.peek() == '+') source.consume();
+
+        long mantissa = 0;
+        int digits = 0;                 // significant digits held in mantissa
+        int exponent = 0;               // decimal exponent applied to mantissa
+        boolean truncated = false;      // non-zero digits beyond the first 19 were dropped
+
+        boolean hasDigit = false;
+        while (source.isDigit(source.peek()) || source.peek() == '_') {
+            char c = source.consume();
+            if (c == '_') continue;
+            hasDigit = true;
+            if (digits < 19) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+                truncated |= c != '0';
+            }
+        }
+
+        boolean isFloat = false;
+        if (source.peek() == '.') {
+            source.consume();
+            isFloat = true;
+            while (source.isDigit(source.peek()) || source.peek() == '_') {
+                char c = source.consume();
+                if (c == '_') continue;
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                } else {
+                    truncated |= c != '0';
+                }
+            }
+        }
+
+        if (source.peek() == 'e' || source.peek() == 'E') {
+            source.consume();
+            isFloat = true;
+            boolean negativeExponent = source.peek() == '-';
+            if (negativeExponent || source.peek() == '+') source.consume();
+            int e = 0;
+            boolean hasExponentDigit = false;
+            while (source.isDigit(source.peek()) || source.peek() == '_') {
+                char c = source.consume();
+                if (c == '_') continue;
+                if (e < 100_000) e = e * 10 + (c - '0');    // saturates far beyond any double
+                hasExponentDigit = true;
+            }
+            if (!hasExponentDigit) throw error(INVALID_EXPONENT, source.position());
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (!hasDigit) throw error(INVALID_NUMBER, source.position());
+
+        if (isFloat) {
+            double d = truncated ? Double.NaN : DoubleParser.toDouble(mantissa, exponent, negative);
+            if (Double.isNaN(d)) {
+                d = Double.parseDouble(source.substring(start, source.position()).replace("_", ""));
+            }
+            return number(false, 0, d, start);
+        }
+        // an integer only has exponent > 0 when it ran past 19 digits
+        if (exponent > 0 || Long.compareUnsigned(mantissa, negative ? Long.MIN_VALUE : Long.MAX_VALUE) > 0) {
+            throw error(INVALID_NUMBER, start);
+        }
+        long l = negative ? -mantissa : mantissa;
+        return number(true, l, l, start);
+    }
+
+
+    private Event number(boolean integer, long l, double d, int start) {
+        span(start, source.position());
+        this.integer = integer;
+        this.longValue = l;
+        this.doubleValue = d;
+        return event(Event.NUMBER);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Token cursor and frames
+    // ------------------------------------------------------------------ //
+    private int kind()          { return tokens.kind(t); }
+    private int tokenStart()    { return tokens.start(t); }
+    private int tokenEnd()      { return tokens.end(t); }
+    int previousEnd()           { return tokens.end(t - 1); }
+    private boolean is(int kind) { return tokens.kind(t) == kind; }
+
+    private void advance() {
+        if (!is(EOF) && !is(ERROR)) t++;    // EOF / ERROR is sticky
+    }
+
+    private int readIdentifier() {
+        if (!is(IDENT)) raise(EXPECTED_IDENTIFIER);
+        int id = symbols.intern(source, tokenStart(), tokenEnd());
+        advance();
+        return id;
+    }
+
+    private void push(int frameState, int open) {
+        if (++top == state.length) {
+            state = Arrays.copyOf(state, top * 2);
+            opened = Arrays.copyOf(opened, top * 2);
+            counts = Arrays.copyOf(counts, top * 2);
+            seen = Arrays.copyOf(seen, top * 2);
+        }
+        state[top] = frameState;
+        opened[top] = open;
+        if (seen[top] != null) seen[top].clear();
+    }
+
+    // false if the key is already in this object or attribute block
+    private boolean mark(int key) {
+        BitSet keys = seen[top];
+        if (keys == null) keys = seen[top] = new BitSet();
+        if (keys.get(key)) return false;
+        keys.set(key);
+        return true;
+    }
+
+    private void span(int start, int end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    private Event event(Event e) {
+        return event = e;
+    }
+
+    /** Raises {@code code} at the start of the current token. */
+    private void raise(ErrorCode code) {
+        throw error(code, tokenStart());
+    }
+
+    private ParseException error(ErrorCode code, int position) {
+        return new ParseException(code, source.lineAt(position), source.columnAt(position));
+    }
+}
@@ -0,0 +1,154 @@
+/// src/main/java/dev/badkraft/anvil/parser/ChunkedParser.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Source;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel mode of {@link AnvilParser}. Top-level statements only depend on each other through
+ * their order, so the source is cut at statement starts, each chunk is parsed into a context of
+ * its own over a {@link Source#slice} of the text, and the chunks are joined back in order.
+ * <p>
+ * The cuts come from {@link Source#topLevelLine}, one char loop that tracks bracket depth and
+ * steps over strings, blobs and comments: a cut is made at a line that starts at depth 0 with a
+ * key followed by {@code :=} or {@code @[}, directly or after {@code : base}. A line is never inside a token, so a chunk
+ * that parses on its own parses the same inside the whole document. A malformed document can
+ * still fool the scan; when any chunk fails the whole document is parsed again on the calling
+ * thread, so errors are exactly the sequential ones.
+ */
+final class ChunkedParser {
+
+    /** Smallest chunk worth handing to another thread. */
+    static final int MIN_CHUNK = 256 << 10;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ChunkedParser() {}
+
+    static void parse(Context context, ForkJoinPool pool, int chunkSize) {
+        Source source = context.source();
+        int from = source.position();
+        int end = source.length();
+        if (chunkSize <= 0) {
+            chunkSize = Math.max(MIN_CHUNK, (end - from) / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        }
+        Cuts cuts = source.retainsText() ? new Cuts(source, from, chunkSize) : null;
+        int cut = cuts == null ? end : cuts.next();
+        if (cut == end) {
+            AnvilParser.parse(context);
+            return;
+        }
+
+        // each chunk starts parsing as soon as its end is found
+        List<ForkJoinTask<Context>> parts = new ArrayList<>();
+        for (int start = from; ; start = cut, cut = cuts.next()) {
+            int chunkStart = start, chunkEnd = cut;
+            parts.add(pool.submit(() -> parseChunk(context, chunkStart, chunkEnd)));
+            if (cut == end) break;
+        }
+        try {
+            for (ForkJoinTask<Context> part : parts) part.join();
+        } catch (Throwable t) {
+            // nothing else is waited for, so stop the parts still running
+            for (ForkJoinTask<Context> part : parts) part.cancel(false);
+            if (!(t instanceof ParseException)) throw t;
+            AnvilParser.parse(context);     // throws the error the sequential parser reports
+            return;
+        }
+
+        for (ForkJoinTask<Context> part : parts) context.addAll(part.join());
+        context.markParsed();
+    }
+
+    private static Context parseChunk(Context context, int start, int end) {
+        Context part = Context.builder()
+                .source(context.source().slice(start, end))
+                .namespace(context.namespace())
+                .dialect(context.dialect())
+                .symbols(context.symbols())
+                .statementFilter(context.statementFilter())
+                .build();
+        AnvilParser.parse(part);
+        return part;
+    }
+
+    /**
+     * Chunk boundaries after {@code from}: each cut is the first statement start at least
+     * {@code chunkSize} past the one before it, and the last is the source length.
+     */
+    static final class Cuts {
+        private final Source source;
+        private final Source cursor;
+        private final int chunkSize;
+        private final int end;
+        private int line;
+        private int next;
+
+        Cuts(Source source, int from, int chunkSize) {
+            this.source = source;
+            this.end = source.length();
+            this.cursor = source.slice(from, end);
+            this.chunkSize = chunkSize;
+            this.line = from;
+            this.next = from + chunkSize;
+        }
+
+        int next() {
+            while (next < end && (line = source.topLevelLine(line, next)) >= 0) {
+                if (startsStatement(line)) {
+                    next = line + chunkSize;
+                    return line;
+                }
+            }
+            next = end;
+            return end;
+        }
+
+        // A key is followed by ':=' or '@[', directly or after ': base'. A bare value that opens
+        // a line, like 'minecraft:stone' under 'item :=', has neither after it.
+        private boolean startsStatement(int start) {
+            cursor.setPosition(start);
+            skipIdentifier();
+            if (cursor.is(':') && !cursor.is(":=")) {
+                cursor.consume(1);
+                cursor.skipWhitespace();
+                if (!cursor.isIdentifierStart(cursor.peek())) return false;
+                skipIdentifier();
+            }
+            return cursor.is(":=") || cursor.is("@[");
+        }
+
+        // The identifier at the cursor, whose first char is already known, and the gap after it.
+        private void skipIdentifier() {
+            int len = 1;
+            while (!cursor.isEOF(len) && cursor.isIdentifierPart(cursor.peek(len))) len++;
+            cursor.consume(len);
+            cursor.skipWhitespace();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/// src/main/java/dev/badkraft/anvil/parser/DoubleParser.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded {@code mantissa × 10^exponent} → double without building a string.
+ * <p>
+ * Exact small cases take Clinger's fast path (both operands exact in a double); the rest
+ * go through the Eisel-Lemire algorithm: one or two 64×64→128 bit products against a
+ * truncated 128-bit power of five. When that cannot decide the rounding (subnormal
+ * results), {@link #toDouble} answers {@code NaN} and the caller falls back to
+ * {@link Double#parseDouble}.
+ */
+final class DoubleParser {
+
+    private DoubleParser() {}
+
+    private static final int MIN_EXPONENT = -342;   // below: any 19-digit mantissa rounds to 0
+    private static final int MAX_EXPONENT = 308;    // above: any non-zero mantissa overflows
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // 5^q normalised to 128 bits (high word has its top bit set), two longs per exponent
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    /**
+     * @param mantissa unsigned decimal significand, at most 19 digits
+     * @param exponent power of ten applied to it
+     * @return the nearest double, or {@code NaN} if the caller must fall back
+     */
+    static double toDouble(long mantissa, int exponent, boolean negative) {
+        if (mantissa == 0 || exponent < MIN_EXPONENT) return negative ? -0.0 : 0.0;
+        if (exponent > MAX_EXPONENT) return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+
+        if (exponent >= -22 && exponent <= 22 && Long.compareUnsigned(mantissa, 1L << 53) <= 0) {
+            double d = (double) mantissa;
+            d = exponent < 0 ? d / POWERS_OF_TEN[-exponent] : d * POWERS_OF_TEN[exponent];
+            return negative ? -d : d;
+        }
+
+        int lz = Long.numberOfLeadingZeros(mantissa);
+        long w = mantissa << lz;
+        int index = 2 * (exponent - MIN_EXPONENT);
+        long high = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            // the truncated power may matter below bit 55: fold in the second product
+            long secondHigh = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) high++;
+        }
+        if (low == -1L && (exponent < -27 || exponent > 55)) return Double.NaN;
+
+        int upper = (int) (high >>> 63);
+        int shift = upper + 9;
+        long bits = high >>> shift;
+        int power2 = (((152170 + 65536) * exponent) >> 16) + 63 + upper - lz + 1023;
+        if (power2 <= 0) return Double.NaN;         // subnormal
+
+        // exactly halfway: round to even rather than up
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23
+                && (bits & 3) == 1 && (bits << shift) == high) {
+            bits &= ~1L;
+        }
+        bits += bits & 1;
+        bits >>>= 1;
+        if (bits >= (2L << 52)) {
+            bits = 1L << 52;
+            power2++;
+        }
+        bits &= ~(1L << 52);
+        if (power2 >= 0x7FF) return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+
+        bits |= (long) power2 << 52;
+        if (negative) bits |= Long.MIN_VALUE;
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static long[] powersOfFive() {
+        long[] table = new long[2 * (MAX_EXPONENT - MIN_EXPONENT + 1)];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger c;
+            if (q >= 0) {
+                c = five.pow(q);
+                int bits = c.bitLength();
+                c = bits <= 128 ? c.shiftLeft(128 - bits) : c.shiftRight(bits - 128);
+            } else {
+                // reciprocal, rounded up, then truncated to 128 bits
+                BigInteger power = five.pow(-q);
+                int z = power.bitLength();               // smallest z with 2^z > 5^-q
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                if (c.bitLength() > 128) c = c.shiftRight(c.bitLength() - 128);
+            }
+            int i = 2 * (q - MIN_EXPONENT);
+            table[i] = c.shiftRight(64).longValue();
+            table[i + 1] = c.longValue();
+        }
+        return table;
+    }
+}
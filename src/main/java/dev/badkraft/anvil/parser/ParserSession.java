@@ -0,0 +1,50 @@
+/// src/main/java/dev/badkraft/anvil/parser/ParserSession.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+
+/**
+ * Parser state kept from one document to the next: the token buffer, the reader's frame stack
+ * and its per-frame duplicate-key sets, and the parser's scratch lists. Re-parsing many small
+ * documents through one session allocates little beyond the trees themselves.
+ * <p>
+ * A session parses one document at a time and is not thread-safe; hold one per thread, for
+ * instance in a {@code ThreadLocal}. Its buffers only grow, to fit the largest document it has
+ * parsed, and it lets go of each document once that document is parsed.
+ */
+public final class ParserSession {
+
+    private final AnvilReader reader = new AnvilReader();
+    private final AnvilParser parser = new AnvilParser(reader);
+
+    /** Parses {@code context} exactly as {@link AnvilParser#parse(Context)} does. */
+    public void parse(Context context) {
+        reader.reset(context.source(), context.symbols());
+        try {
+            parser.parseInto(context);
+        } finally {
+            reader.release();
+        }
+    }
+}
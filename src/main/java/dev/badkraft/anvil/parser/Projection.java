@@ -0,0 +1,165 @@
+/// src/main/java/dev/badkraft/anvil/parser/Projection.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.data.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The paths a projecting parse keeps; see {@link AnvilParser#parse(dev.badkraft.anvil.core.api.Context, Projection)}.
+ * <p>
+ * A path is a statement key followed by field names, joined by {@code .}, as in
+ * {@code ore_*.drop}. A {@code *} in a segment matches any run of characters. A segment is
+ * matched against a whole name first, so {@code *} takes a dotted key such as {@code a.b} too;
+ * failing that, a dotted key is matched part by part by as many segments as it has parts. A
+ * value is kept whole once a path ends at it.
+ */
+public final class Projection {
+
+    private final String[] segments;    // every path's segments, end to end
+    private final int[] starts;         // first segment of each path
+    private final int[] ends;           // one past its last segment
+
+    private Projection(String[] segments, int[] starts, int[] ends) {
+        this.segments = segments;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static Projection of(String... paths) {
+        if (paths.length == 0) throw new IllegalArgumentException("At least one path is required");
+        List<String> segments = new ArrayList<>();
+        int[] starts = new int[paths.length];
+        int[] ends = new int[paths.length];
+        for (int p = 0; p < paths.length; p++) {
+            starts[p] = segments.size();
+            for (String segment : paths[p].split("\\.", -1)) {
+                if (segment.isEmpty()) throw new IllegalArgumentException("Empty segment in path: " + paths[p]);
+                segments.add(segment);
+            }
+            ends[p] = segments.size();
+        }
+        return new Projection(segments.toArray(String[]::new), starts, ends);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /** Match state for one parse; caches each segment's verdict per symbol. */
+    Matches matches(SymbolTable symbols) {
+        return new Matches(symbols);
+    }
+
+    final class Matches {
+        private final SymbolTable symbols;
+        private final int[][] cache = new int[segments.length][];   // 0 unknown, -1 no, else segments used
+
+        private Matches(SymbolTable symbols) {
+            this.symbols = symbols;
+        }
+
+        /** Where every path stands before the first key. */
+        int[] roots() {
+            return starts.clone();
+        }
+
+        /**
+         * Where each path stands after the name {@code symbol}: the next segment, its end if
+         * the path is complete, or -1 if it no longer matches. Null when no path matches.
+         */
+        int[] step(int[] live, int symbol) {
+            int[] next = null;
+            for (int p = 0; p < live.length; p++) {
+                int segment = live[p];
+                if (segment < 0 || segment == ends[p]) continue;
+                int used = match(segment, ends[p], symbol);
+                if (used < 0) continue;
+                if (next == null) {
+                    next = new int[live.length];
+                    Arrays.fill(next, -1);
+                }
+                next[p] = segment + used;
+            }
+            return next;
+        }
+
+        /** True when some path ends here, so the whole value is kept. */
+        boolean complete(int[] live) {
+            for (int p = 0; p < live.length; p++) {
+                if (live[p] == ends[p]) return true;
+            }
+            return false;
+        }
+
+        private int match(int segment, int end, int symbol) {
+            int[] verdicts = cache[segment];
+            if (verdicts == null || verdicts.length <= symbol) {
+                verdicts = cache[segment] = Arrays.copyOf(verdicts == null ? new int[0] : verdicts,
+                        Math.max(symbol + 1, symbols.size()));
+            }
+            int verdict = verdicts[symbol];
+            if (verdict == 0) verdict = verdicts[symbol] = parts(segment, end, symbols.name(symbol));
+            return verdict;
+        }
+
+        // The whole name against one segment, else each '.'-separated part against the next ones.
+        private int parts(int segment, int end, String name) {
+            if (glob(segments[segment], name, 0, name.length())) return 1;
+            if (name.indexOf('.') < 0) return -1;
+            int used = 0;
+            for (int from = 0; ; used++) {
+                int dot = name.indexOf('.', from);
+                int to = dot < 0 ? name.length() : dot;
+                if (segment + used == end || !glob(segments[segment + used], name, from, to)) return -1;
+                if (dot < 0) return used + 1;
+                from = dot + 1;
+            }
+        }
+    }
+
+    // Wildcard match of pattern against name[from, to); '*' matches any run.
+    static boolean glob(String pattern, String name, int from, int to) {
+        int p = 0, n = from;
+        int star = -1, resume = 0;
+        while (n < to) {
+            if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                resume = n;
+            } else if (p < pattern.length() && pattern.charAt(p) == name.charAt(n)) {
+                p++;
+                n++;
+            } else if (star >= 0) {
+                p = star + 1;
+                n = ++resume;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') p++;
+        return p == pattern.length();
+    }
+}
@@ -0,0 +1,119 @@
+/// src/main/java/dev/badkraft/anvil/parser/StatementIndex.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Assignment;
+import dev.badkraft.anvil.core.data.Attribute;
+import dev.badkraft.anvil.core.data.Statement;
+import dev.badkraft.anvil.core.data.SymbolTable;
+import dev.badkraft.anvil.core.data.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The top-level statements of a document as found by {@link AnvilParser#index(Context)}:
+ * key, base and attributes are read up front, each value only when first asked for.
+ * <p>
+ * Syntax errors inside a value surface as a {@link ParseException} from {@link #statement(int)},
+ * not from the scan. Only the spans are kept, not the scan's tokens: a value is lexed again
+ * from its own span when it is parsed, so memory follows the values actually read. Parsing
+ * is serialised on the index.
+ */
+public final class StatementIndex {
+
+    private final Context context;
+    private final SymbolTable symbols;
+
+    private int size;
+    private int[] keys = new int[16];
+    private int[] bases = new int[16];
+    private int[] valueStarts = new int[16];
+    private int[] valueEnds = new int[16];
+    private final List<List<Attribute>> attributes = new ArrayList<>();
+    private Statement[] parsed = new Statement[16];
+
+    StatementIndex(Context context) {
+        this.context = context;
+        this.symbols = context.symbols();
+    }
+
+    void add(int key, int base, List<Attribute> attrs, int valueStart, int valueEnd) {
+        if (size == keys.length) {
+            int n = size * 2;
+            keys = Arrays.copyOf(keys, n);
+            bases = Arrays.copyOf(bases, n);
+            valueStarts = Arrays.copyOf(valueStarts, n);
+            valueEnds = Arrays.copyOf(valueEnds, n);
+            parsed = Arrays.copyOf(parsed, n);
+        }
+        keys[size] = key;
+        bases[size] = base;
+        valueStarts[size] = valueStart;
+        valueEnds[size] = valueEnd;
+        attributes.add(attrs);
+        size++;
+    }
+
+    public int size()                          { return size; }
+    public Context context()                   { return context; }
+    public String key(int i)                   { return symbols.name(keys[check(i)]); }
+    public String base(int i)                  { return bases[check(i)] < 0 ? null : symbols.name(bases[i]); }
+    public List<Attribute> attributes(int i)   { return attributes.get(check(i)); }
+    /** Source span of the value, end exclusive, as written (strings with their quotes). */
+    public int valueStart(int i)               { return valueStarts[check(i)]; }
+    public int valueEnd(int i)                 { return valueEnds[check(i)]; }
+
+    /** Position of the first statement with this key, or -1. */
+    public int indexOf(String key) {
+        int symbol = symbols.lookup(key);
+        for (int i = 0; i < size && symbol >= 0; i++) {
+            if (keys[i] == symbol) return i;
+        }
+        return -1;
+    }
+
+    public synchronized boolean isParsed(int i) {
+        return parsed[check(i)] != null;
+    }
+
+    /** The full statement, parsing its value on first use. */
+    public synchronized Statement statement(int i) {
+        Statement statement = parsed[check(i)];
+        if (statement == null) {
+            List<Attribute> attrs = attributes.get(i);
+            TokenStream tokens = AnvilLexer.lexValue(context.source().slice(valueStarts[i], valueEnds[i]));
+            Value value = AnvilParser.parseValue(context, tokens, 0, bases[i]);
+            if (!attrs.isEmpty()) value.getAttributes().addAll(attrs);
+            statement = parsed[i] = new Assignment(symbols, keys[i], attrs, value);
+        }
+        return statement;
+    }
+
+    private int check(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        return i;
+    }
+}
@@ -0,0 +1,418 @@
+/// src/main/java/dev/badkraft/anvil/parser/Tape.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Assignment;
+import dev.badkraft.anvil.core.data.Attribute;
+import dev.badkraft.anvil.core.data.Statement;
+import dev.badkraft.anvil.core.data.SymbolTable;
+import dev.badkraft.anvil.core.data.Value;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A whole document as built by {@link AnvilParser#tape(Context)}: every statement, field,
+ * attribute and value is one entry across a few primitive arrays rather than a {@link Value}
+ * record, a {@code ValueBase} and a list per composite.
+ * <p>
+ * Entries are in document order, each composite followed by its contents:
+ * <pre>
+ *   statement := STATEMENT attribute* value        link: key symbol
+ *   field     := FIELD attribute* value            link: key symbol
+ *   attribute := ATTRIBUTE scalar?                 link: key symbol
+ *   OBJECT field* | ARRAY value* | TUPLE value*    link: index just past the last entry inside
+ *   LONG, DOUBLE, HEX                              link: slot of the bits in the number array
+ *   BOOLEAN                                        link: 0 or 1
+ *   BLOB                                           link: tag symbol, or -1
+ * </pre>
+ * Each entry is a kind byte (with flags), a source span as {@link AnvilReader#start()} reports
+ * it and the link: 13 bytes, and 8 more for a number. A composite is stepped over in one move.
+ * Statement bases sit next to the statement list, and module attributes stay in the context.
+ * <p>
+ * {@link Node} is a flyweight over one value entry with the accessors of the {@link Value}
+ * records; {@link Node#toValue()} and {@link #statement(int)} build the records when wanted.
+ */
+public final class Tape {
+
+    /** Kind of a value entry, as {@link Node#kind()} reports it. */
+    public enum Kind { OBJECT, ARRAY, TUPLE, STRING, LONG, DOUBLE, HEX, BOOLEAN, NULL, BARE, BLOB }
+
+    static final int OBJECT = 0, ARRAY = 1, TUPLE = 2, STRING = 3, LONG = 4, DOUBLE = 5, HEX = 6,
+            BOOLEAN = 7, NULL = 8, BARE = 9, BLOB = 10, STATEMENT = 11, FIELD = 12, ATTRIBUTE = 13;
+    static final int ESCAPED = 0x10;     // STRING and BLOB with a backslash in them
+    static final int LITERAL = 0x20;     // ATTRIBUTE followed by its literal
+    private static final int KIND_MASK = 0x0F;
+    private static final Kind[] KINDS = Kind.values();
+
+    private final Context context;
+    private final SymbolTable symbols;
+
+    private int size;
+    private byte[] kinds;
+    private int[] starts;
+    private int[] ends;
+    private int[] links;
+    private int numberCount;
+    private long[] numbers = new long[64];
+
+    private int statementCount;
+    private int[] statements = new int[16];
+    private int[] bases = new int[16];
+
+    Tape(Context context) {
+        this.context = context;
+        this.symbols = context.symbols();
+        int capacity = Math.max(64, context.source().length() / 8);
+        kinds = new byte[capacity];
+        starts = new int[capacity];
+        ends = new int[capacity];
+        links = new int[capacity];
+    }
+
+    // ------------------------------------------------------------------ //
+    // Writing, for AnvilParser
+    // ------------------------------------------------------------------ //
+
+    int add(int kind, int start, int end, int link) {
+        if (size == kinds.length) grow(size * 2);
+        kinds[size] = (byte) kind;
+        starts[size] = start;
+        ends[size] = end;
+        links[size] = link;
+        return size++;
+    }
+
+    int number(int kind, int start, int end, long bits) {
+        if (numberCount == numbers.length) numbers = Arrays.copyOf(numbers, numberCount * 2);
+        numbers[numberCount] = bits;
+        return add(kind, start, end, numberCount++);
+    }
+
+    // A composite's span and link are only known at its end.
+    int open(int kind) {
+        return add(kind, -1, -1, -1);
+    }
+
+    void close(int entry, int start, int end) {
+        starts[entry] = start;
+        ends[entry] = end;
+        links[entry] = size;
+    }
+
+    void statement(int key, int base, int start, int end) {
+        if (statementCount == statements.length) {
+            statements = Arrays.copyOf(statements, statementCount * 2);
+            bases = Arrays.copyOf(bases, statementCount * 2);
+        }
+        bases[statementCount] = base;
+        statements[statementCount++] = add(STATEMENT, start, end, key);
+    }
+
+    // Attribute literals are parsed ahead of the statement filter, so they arrive as records.
+    void attribute(Attribute attribute) {
+        Value literal = attribute.value();
+        add(ATTRIBUTE | (literal == null ? 0 : LITERAL), -1, -1, attribute.symbol());
+        if (literal == null) return;
+        int start = literal.start(), end = literal.end();
+        switch (literal) {
+            case Value.StringValue s -> add(STRING | (s.escaped() ? ESCAPED : 0), start, end, -1);
+            case Value.LongValue l -> number(LONG, start, end, l.value());
+            case Value.DoubleValue d -> number(DOUBLE, start, end, Double.doubleToRawLongBits(d.value()));
+            case Value.HexValue h -> number(HEX, start, end, h.value());
+            case Value.BooleanValue b -> add(BOOLEAN, start, end, b.value() ? 1 : 0);
+            case Value.NullValue n -> add(NULL, start, end, -1);
+            case Value.BareLiteral b -> add(BARE, start, end, -1);
+            case Value.BlobValue b -> add(BLOB | (b.escaped() ? ESCAPED : 0), start, end,
+                    b.attribute() == null ? -1 : symbols.lookup(b.attribute()));
+            default -> throw new IllegalStateException("Not a literal: " + literal);
+        }
+    }
+
+    // Drops the spare capacity once the document is in.
+    Tape trim() {
+        grow(size);
+        numbers = Arrays.copyOf(numbers, numberCount);
+        statements = Arrays.copyOf(statements, statementCount);
+        bases = Arrays.copyOf(bases, statementCount);
+        return this;
+    }
+
+    private void grow(int capacity) {
+        kinds = Arrays.copyOf(kinds, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    // ------------------------------------------------------------------ //
+    // Reading
+    // ------------------------------------------------------------------ //
+
+    public Context context()                   { return context; }
+    /** Top-level statements. */
+    public int size()                          { return statementCount; }
+    /** Entries across the whole document. */
+    public int entries()                       { return size; }
+    public String key(int i)                   { return symbols.name(links[statementEntry(i)]); }
+    public String base(int i)                  { int b = bases[check(i)]; return b < 0 ? null : symbols.name(b); }
+    public List<Attribute> attributes(int i)   { return attributesOf(statementEntry(i)); }
+    public Node value(int i)                   { int s = statementEntry(i); return new Node(this, valueOf(s), s); }
+
+    /** Position of the first statement with this key, or -1. */
+    public int indexOf(String key) {
+        int symbol = symbols.lookup(key);
+        for (int i = 0; i < statementCount && symbol >= 0; i++) {
+            if (links[statements[i]] == symbol) return i;
+        }
+        return -1;
+    }
+
+    /** The statement as {@link AnvilParser#parse(Context)} would have built it. */
+    public Statement statement(int i) {
+        int entry = statementEntry(i);
+        List<Attribute> attrs = attributesOf(entry);
+        Value value = build(valueOf(entry), entry);
+        return new Assignment(symbols, links[entry], attrs, value);
+    }
+
+    private int statementEntry(int i) {
+        return statements[check(i)];
+    }
+
+    private int check(int i) {
+        if (i < 0 || i >= statementCount) throw new IndexOutOfBoundsException(i);
+        return i;
+    }
+
+    private int kind(int entry) {
+        return kinds[entry] & KIND_MASK;
+    }
+
+    // The entry after this one and everything inside it.
+    private int next(int entry) {
+        return switch (kind(entry)) {
+            case OBJECT, ARRAY, TUPLE -> links[entry];
+            case STATEMENT, FIELD     -> next(valueOf(entry));
+            case ATTRIBUTE            -> (kinds[entry] & LITERAL) != 0 ? entry + 2 : entry + 1;
+            default                   -> entry + 1;
+        };
+    }
+
+    // The value of a STATEMENT or FIELD, past its attributes.
+    private int valueOf(int named) {
+        int entry = named + 1;
+        while (kind(entry) == ATTRIBUTE) entry = next(entry);
+        return entry;
+    }
+
+    private List<Attribute> attributesOf(int named) {
+        int entry = named + 1;
+        if (named < 0 || kind(entry) != ATTRIBUTE) return List.of();
+        List<Attribute> attrs = new ArrayList<>();
+        for (; kind(entry) == ATTRIBUTE; entry = next(entry)) {
+            attrs.add(new Attribute(symbols, links[entry], (kinds[entry] & LITERAL) == 0 ? null : build(entry + 1, -1)));
+        }
+        return List.copyOf(attrs);
+    }
+
+    // Builds the records for the value at entry; named is its STATEMENT or FIELD, or -1.
+    private Value build(int entry, int named) {
+        int start = starts[entry], end = ends[entry];
+        boolean escaped = (kinds[entry] & ESCAPED) != 0;
+        Value value = switch (kind(entry)) {
+            case OBJECT -> {
+                List<Map.Entry<String, Value>> fields = new ArrayList<>();
+                for (int f = entry + 1; f < links[entry]; f = next(f)) {
+                    fields.add(new Value.Field(symbols, links[f], build(valueOf(f), f)));
+                }
+                yield context.object(fields, List.of(), baseOf(named), start, end);
+            }
+            case ARRAY -> context.array(elements(entry), List.of(), start, end);
+            case TUPLE -> context.tuple(elements(entry), List.of(), start, end);
+            case STRING -> context.string(start, end, escaped);
+            case LONG -> context.longVal(numbers[links[entry]], start, end);
+            case DOUBLE -> context.doubleVal(Double.longBitsToDouble(numbers[links[entry]]), start, end);
+            case HEX -> context.hex(numbers[links[entry]], start, end);
+            case BOOLEAN -> context.bool(links[entry] != 0, start, end);
+            case NULL -> context.nullVal(start, end);
+            case BARE -> context.bare(start, end);
+            case BLOB -> context.blob(links[entry] < 0 ? null : symbols.name(links[entry]), start, end, escaped);
+            default -> throw new IllegalStateException("Not a value entry: " + entry);
+        };
+        List<Attribute> attrs = named < 0 ? List.of() : attributesOf(named);
+        if (!attrs.isEmpty()) value.getAttributes().addAll(attrs);
+        return value;
+    }
+
+    // The base of a top-level object; named is the entry holding it.
+    private String baseOf(int named) {
+        if (named < 0 || kind(named) != STATEMENT) return null;
+        int base = bases[Arrays.binarySearch(statements, 0, statementCount, named)];
+        return base < 0 ? null : symbols.name(base);
+    }
+
+    private int count(int composite) {
+        int count = 0;
+        for (int e = composite + 1; e < links[composite]; e = next(e)) count++;
+        return count;
+    }
+
+    private List<Value> elements(int composite) {
+        List<Value> elements = new ArrayList<>();
+        for (int e = composite + 1; e < links[composite]; e = next(e)) elements.add(build(e, -1));
+        return elements;
+    }
+
+    /**
+     * A value on the tape: one entry index, and the field or statement that names it so that
+     * its attributes can be found. Cheap to make and holds no copy of anything; children are
+     * found by stepping over whole entries, so indexed access and sizes are linear.
+     */
+    public static final class Node {
+        private final Tape tape;
+        private final int entry;
+        private final int named;
+
+        private Node(Tape tape, int entry, int named) {
+            this.tape = tape;
+            this.entry = entry;
+            this.named = named;
+        }
+
+        public Kind kind()              { return KINDS[tape.kind(entry)]; }
+        public int start()              { return tape.starts[entry]; }
+        public int end()                { return tape.ends[entry]; }
+        public boolean isComposite()    { return tape.kind(entry) <= TUPLE; }
+
+        /** STRING, BARE and BLOB: the raw text, as {@link Value.StringValue#content()}. */
+        public String content() {
+            return switch (tape.kind(entry)) {
+                case STRING, BARE, BLOB -> tape.context.source().substring(start(), end());
+                default -> throw new UnsupportedOperationException("No content on " + kind());
+            };
+        }
+        /** STRING and BLOB: whether the content holds a backslash. */
+        public boolean escaped()        { return (tape.kinds[entry] & ESCAPED) != 0; }
+
+        /** LONG and HEX. */
+        public long longValue() {
+            int kind = tape.kind(entry);
+            if (kind != LONG && kind != HEX) throw new UnsupportedOperationException("Not a long: " + kind());
+            return tape.numbers[tape.links[entry]];
+        }
+        /** DOUBLE; LONG widens. */
+        public double doubleValue() {
+            return switch (tape.kind(entry)) {
+                case DOUBLE -> Double.longBitsToDouble(tape.numbers[tape.links[entry]]);
+                case LONG -> tape.numbers[tape.links[entry]];
+                default -> throw new UnsupportedOperationException("Not a number: " + kind());
+            };
+        }
+        public boolean booleanValue() {
+            if (tape.kind(entry) != BOOLEAN) throw new UnsupportedOperationException("Not a boolean: " + kind());
+            return tape.links[entry] != 0;
+        }
+        /** BLOB: the tag ({@code @md}), or null. */
+        public String tag() {
+            if (tape.kind(entry) != BLOB) throw new UnsupportedOperationException("Not a blob: " + kind());
+            int tag = tape.links[entry];
+            return tag < 0 ? null : tape.symbols.name(tag);
+        }
+
+        /** OBJECT: the base of a top-level object, or null. */
+        public String getBase() {
+            if (tape.kind(entry) != OBJECT) throw new UnsupportedOperationException("Base not supported on " + kind());
+            return tape.baseOf(named);
+        }
+        /** Attributes written on the field or statement holding this value. */
+        public List<Attribute> attributes() {
+            return tape.attributesOf(named);
+        }
+
+        /** OBJECT: fields; ARRAY and TUPLE: elements. */
+        public int size() {
+            if (!isComposite()) throw new UnsupportedOperationException("Not a composite: " + kind());
+            return tape.count(entry);
+        }
+
+        /** ARRAY or TUPLE element. */
+        public Node get(int index) {
+            int kind = tape.kind(entry);
+            if (kind != ARRAY && kind != TUPLE) throw new UnsupportedOperationException("Not an array or tuple: " + kind());
+            int e = entry + 1;
+            for (int i = 0; i < index && e < tape.links[entry]; i++) e = tape.next(e);
+            if (index < 0 || e >= tape.links[entry]) throw new IndexOutOfBoundsException(index);
+            return new Node(tape, e, -1);
+        }
+
+        /** OBJECT field, or null if there is none by that name. */
+        public Node get(String field) {
+            if (tape.kind(entry) != OBJECT) throw new UnsupportedOperationException("Not an object: " + kind());
+            int symbol = tape.symbols.lookup(field);
+            if (symbol < 0) return null;
+            for (int f = entry + 1; f < tape.links[entry]; f = tape.next(f)) {
+                if (tape.links[f] == symbol) return new Node(tape, tape.valueOf(f), f);
+            }
+            return null;
+        }
+
+        /** OBJECT: field names in order. */
+        public List<String> fieldNames() {
+            if (tape.kind(entry) != OBJECT) throw new UnsupportedOperationException("Not an object: " + kind());
+            List<String> names = new ArrayList<>();
+            for (int f = entry + 1; f < tape.links[entry]; f = tape.next(f)) names.add(tape.symbols.name(tape.links[f]));
+            return names;
+        }
+
+        /** ARRAY and TUPLE elements, or OBJECT field values, as views stepped through in order. */
+        public List<Node> children() {
+            if (!isComposite()) throw new UnsupportedOperationException("Not a composite: " + kind());
+            int[] found = new int[size()];
+            boolean object = tape.kind(entry) == OBJECT;
+            for (int i = 0, e = entry + 1; i < found.length; i++, e = tape.next(e)) found[i] = e;
+            return new AbstractList<>() {
+                @Override public Node get(int i) {
+                    int e = found[i];
+                    return object ? new Node(tape, tape.valueOf(e), e) : new Node(tape, e, -1);
+                }
+                @Override public int size() { return found.length; }
+            };
+        }
+
+        /** The {@link Value} records for this value and everything inside it. */
+        public Value toValue() {
+            return tape.build(entry, named);
+        }
+
+        /** The source text, as the {@link Value} records print it. */
+        @Override
+        public String toString() {
+            return kind() == Kind.BLOB ? toValue().toString() : tape.context.source().substring(start(), end());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/// src/main/java/dev/badkraft/anvil/parser/Token.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+/**
+ * Token kinds produced by {@link AnvilLexer}. Plain ints so a token fits in a packed
+ * {@code int[]} entry; {@link #ESCAPED} is a flag bit on {@link #STRING} and {@link #BLOB}.
+ */
+public final class Token {
+
+    private Token() {}
+
+    public static final int EOF        = 0;
+    public static final int ERROR      = 1;   // lexing stopped here, see TokenStream.error()
+    public static final int UNKNOWN    = 2;   // single char that starts no token
+    public static final int IDENT      = 3;   // key, field, attribute key, base, blob tag
+    public static final int BARE       = 4;   // bare literal in value position
+    public static final int NUMBER     = 5;
+    public static final int HEX        = 6;   // '#' or '0x' prefixed
+    public static final int STRING     = 7;   // includes the quotes
+    public static final int BLOB       = 8;   // includes the backticks
+    public static final int TRUE       = 9;
+    public static final int FALSE      = 10;
+    public static final int NULL       = 11;
+    public static final int ASSIGN     = 12;  // :=
+    public static final int EQUAL      = 13;  // =
+    public static final int COLON      = 14;
+    public static final int COMMA      = 15;
+    public static final int AT         = 16;  // '@' not followed by '['
+    public static final int ATTR_OPEN  = 17;  // @[
+    public static final int L_BRACE    = 18;
+    public static final int R_BRACE    = 19;
+    public static final int L_BRACKET  = 20;
+    public static final int R_BRACKET  = 21;
+    public static final int L_PAREN    = 22;
+    public static final int R_PAREN    = 23;
+
+    /** Set on STRING and BLOB when the content holds at least one backslash. */
+    public static final int ESCAPED    = 1 << 8;
+    static final int KIND_MASK         = ESCAPED - 1;
+
+    private static final String[] NAMES = {
+            "EOF", "ERROR", "UNKNOWN", "IDENT", "BARE", "NUMBER", "HEX", "STRING", "BLOB",
+            "TRUE", "FALSE", "NULL", "ASSIGN", "EQUAL", "COLON", "COMMA", "AT", "ATTR_OPEN",
+            "L_BRACE", "R_BRACE", "L_BRACKET", "R_BRACKET", "L_PAREN", "R_PAREN"
+    };
+
+    public static String name(int kind) {
+        return NAMES[kind & KIND_MASK];
+    }
+}
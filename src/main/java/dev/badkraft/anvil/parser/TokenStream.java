@@ -0,0 +1,113 @@
+/// src/main/java/dev/badkraft/anvil/parser/TokenStream.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import java.util.Arrays;
+
+/**
+ * Compact token stream: one packed {@code int[]} with three slots per token
+ * (kind, start, end). Spans are source positions, end exclusive.
+ * <p>
+ * The last token is always {@link Token#EOF} or {@link Token#ERROR}. For an ERROR token,
+ * {@link #end(int)} is where the error is reported rather than the end of a lexeme.
+ * <p>
+ * A stream from {@link AnvilLexer#lex} is complete. One from {@link AnvilLexer#stream}
+ * lexes ahead in batches as tokens are asked for and keeps only the previous token
+ * behind the one asked for, releasing the source up to it; it must be read in order.
+ */
+public final class TokenStream {
+    static final int STRIDE = 3;
+    private static final int BATCH = 256;
+
+    private int[] data;
+    private int first;              // index of the token in data[0]
+    private int size;               // tokens lexed so far
+    private ErrorCode error;
+    private final AnvilLexer lexer; // null once every token is in data
+
+    TokenStream(int capacity, AnvilLexer lexer) {
+        this.data = new int[STRIDE * capacity];
+        this.lexer = lexer;
+    }
+
+    /** Tokens lexed so far; all of them for a complete stream. */
+    public int size()               { return size; }
+    public int kind(int i)          { return data[slot(i)] & Token.KIND_MASK; }
+    public boolean escaped(int i)   { return (data[slot(i)] & Token.ESCAPED) != 0; }
+    public int start(int i)         { return data[slot(i) + 1]; }
+    public int end(int i)           { return data[slot(i) + 2]; }
+    /** Why lexing stopped at the trailing ERROR token, or null if it reached EOF. */
+    public ErrorCode error()        { return error; }
+
+    private int slot(int i) {
+        if (i >= size) fill(i);
+        return (i - first) * STRIDE;
+    }
+
+    private void fill(int i) {
+        if (lexer == null) throw new IndexOutOfBoundsException(i);
+        // keep the token before i, drop everything older
+        int keep = Math.min(Math.max(first, i - 1), size);
+        if (keep < size) {
+            lexer.release(data[(keep - first) * STRIDE + 1]);
+            System.arraycopy(data, (keep - first) * STRIDE, data, 0, (size - keep) * STRIDE);
+        }
+        first = keep;
+        while (i >= size && lexer.lex(this, BATCH));
+        if (i >= size) throw new IndexOutOfBoundsException(i);
+    }
+
+    void add(int kind, int start, int end) {
+        int i = (size - first) * STRIDE;
+        if (i == data.length) data = Arrays.copyOf(data, data.length * 2);
+        data[i] = kind;
+        data[i + 1] = start;
+        data[i + 2] = end;
+        size++;
+    }
+
+    void fail(ErrorCode error) {
+        this.error = error;
+    }
+
+    boolean isComplete() {
+        return lexer == null;
+    }
+
+    // Empties a complete stream for another document; the buffer keeps its size.
+    void clear() {
+        if (lexer != null) throw new IllegalStateException("Only a complete stream can be refilled");
+        size = 0;
+        error = null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("TokenStream[");
+        for (int i = first; i < size; i++) {
+            if (i > first) sb.append(", ");
+            sb.append(Token.name(kind(i))).append('@').append(start(i)).append('-').append(end(i));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,91 @@
+/// src/main/java/dev/badkraft/anvil/parser/TreeBuilder.java
+///
+/// Copyright (c) 2025 Quantum Override. All rights reserved.
+/// Author: The Badkraft
+/// Date: October 17, 2026
+///
+/// MIT License
+/// Permission is hereby granted, free of charge, to any person obtaining a copy
+/// of this software and associated documentation files (the "Software"), to deal
+/// in the Software without restriction, including without limitation the rights
+/// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+/// copies of the Software, and to permit persons to whom the Software is
+/// furnished to do so, subject to the following conditions:
+/// The above copyright notice and this permission notice shall be included in all
+/// copies or substantial portions of the Software.
+/// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+/// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+/// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+/// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+/// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+/// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+/// SOFTWARE.
+package dev.badkraft.anvil.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build-mode callbacks, driven by {@link AnvilParser#build(dev.badkraft.anvil.core.api.Context, TreeBuilder)}:
+ * each value is made from its decoded content once it closes, children before parents, so a
+ * tree of the builder's own types comes out of the one pass without any
+ * {@link dev.badkraft.anvil.core.data.Value} in between.
+ * <p>
+ * The lists handed in are the parser's scratch and are reused once the call returns; keep a
+ * copy of whatever is kept. The attributes written on a statement or field arrive with its
+ * value; only objects, arrays and tuples may carry them.
+ *
+ * @param <V> the value type
+ * @param <A> the attribute type
+ */
+public interface TreeBuilder<V, A> {
+
+    /** Called once, before any statement, and only when the document has module attributes. */
+    void moduleAttributes(List<A> attributes);
+    /** A top-level statement; {@code base} is null when it has none. */
+    void statement(String key, String base, List<A> attributes, V value);
+    /** {@code value} is null for a tag. */
+    A attribute(String key, V value);
+
+    V object(String base, List<String> keys, List<V> values, List<A> attributes);
+    V array(List<V> elements, List<A> attributes);
+    V tuple(List<V> elements, List<A> attributes);
+
+    /**
+     * An array of integers only, without a value made per element; the builder keeps
+     * {@code values}. {@code #} literals count as integers here, as they do for a converted
+     * array. By default the elements are made one by one through {@link #longValue} and passed
+     * to {@link #array}.
+     */
+    default V longArray(long[] values, List<A> attributes)     { return array(longs(values), attributes); }
+    /** A tuple of integers only; as {@link #longArray}, passed to {@link #tuple} by default. */
+    default V longTuple(long[] values, List<A> attributes)     { return tuple(longs(values), attributes); }
+    /** An array of decimals only; as {@link #longArray}, made through {@link #doubleValue} by default. */
+    default V doubleArray(double[] values, List<A> attributes) { return array(doubles(values), attributes); }
+    /** A tuple of decimals only; as {@link #doubleArray}, passed to {@link #tuple} by default. */
+    default V doubleTuple(double[] values, List<A> attributes) { return tuple(doubles(values), attributes); }
+
+    /** {@code content} is the text between the quotes, escapes as written. */
+    V string(String content);
+    /** {@code text} is the blob as written, backticks included; {@code tag} is null for a plain blob. */
+    V blob(String tag, String text);
+    V longValue(long value);
+    V doubleValue(double value);
+    /** A {@code #} literal; {@code 0x} literals arrive through {@link #longValue}. */
+    V hexValue(long value);
+    V booleanValue(boolean value);
+    V nullValue();
+    V bare(String text);
+
+    private List<V> longs(long[] values) {
+        List<V> list = new ArrayList<>(values.length);
+        for (long v : values) list.add(longValue(v));
+        return list;
+    }
+
+    private List<V> doubles(double[] values) {
+        List<V> list = new ArrayList<>(values.length);
+        for (double v : values) list.add(doubleValue(v));
+        return list;
+    }
+}
@@ -27,6 +27,7 @@ import dev.badkraft.anvil.core.data.Attribute;
 import dev.badkraft.anvil.core.data.Statement;
 import dev.badkraft.anvil.core.data.Value;
 import dev.badkraft.anvil.data.*;
+import dev.badkraft.anvil.parser.StatementIndex;
 
 import java.util.List;
 
@@ -43,6 +44,7 @@ public final class AnvilConverters {
             case Value.StringValue  s -> new value.StringValue(s.content());
             case Value.BooleanValue b -> new value.BooleanValue(b.value());
             case Value.NullValue    n -> new value.NullValue();
+            case Value.BareLiteral  b -> new value.BareValue(b.value());
             case Value.ObjectValue  o -> new object(o);
             case Value.ArrayValue   a -> new array(a);
             case Value.TupleValue   t -> new tuple(t);
@@ -64,4 +66,12 @@ public final class AnvilConverters {
         return new node(stmt.identifier(), attrs, v);
     }
 
+    /** A node for statement {@code i} of a lazy index; its value is parsed on first use. */
+    public static node toNode(StatementIndex index, int i) {
+        List<attribute> attrs = index.attributes(i).stream()
+                .map(AnvilConverters::toAttribute)
+                .toList();
+        return new node(index.key(i), attrs, () -> toValue(index.statement(i).value()));
+    }
+
 }
@@ -0,0 +1,72 @@
+// src/test/java/dev/badkraft/anvil/api/BinderTest.java
+package dev.badkraft.anvil.api;
+
+import dev.badkraft.anvil.data.object;
+import dev.badkraft.anvil.data.value;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinderTest {
+
+    enum Rarity { COMMON, RARE }
+    record Vec(double x, double y, double z) {}
+    record Drop(String item, int count) {}
+    record Item(String name, Rarity rarity, long durability, Double damage, boolean enchantable,
+                Vec origin, List<Drop> drops, long[] ids, double[] weights, int[] levels,
+                List<List<Long>> grid, Drop[] extras, object raw) {}
+    record Needs(int count) {}
+
+    private static final String TEXT = """
+        #!aml
+        sword := {
+            name := "Edge"
+            rarity := RARE
+            durability := 250
+            enchantable := true
+            origin := (1.5, 64, -2.25)
+            drops := [ { item := "iron", count := 2 }, { item := "gold", count := 1 } ]
+            ids := [1, 2, 0x10]
+            weights := [0.5, 1.5]
+            levels := (1, 2, 3)
+            grid := [[1, 2], [3]]
+            extras := [("stick", 4)]
+            raw := { any := "thing" }
+        }
+        bare := { other := 1 }
+        """;
+
+    @Test
+    void bindsObjectsTuplesAndCollections() throws IOException {
+        for (root r : List.of(Anvil.read(TEXT).parse(), Anvil.read(TEXT).direct().parse())) {
+            Item item = Anvil.bind(r.get("sword"), Item.class);
+            assertEquals("Edge", item.name());
+            assertEquals(Rarity.RARE, item.rarity());
+            assertEquals(250, item.durability());
+            assertNull(item.damage());
+            assertTrue(item.enchantable());
+            assertEquals(new Vec(1.5, 64, -2.25), item.origin());
+            assertEquals(List.of(new Drop("iron", 2), new Drop("gold", 1)), item.drops());
+            assertArrayEquals(new long[] { 1, 2, 16 }, item.ids());
+            assertArrayEquals(new double[] { 0.5, 1.5 }, item.weights());
+            assertArrayEquals(new int[] { 1, 2, 3 }, item.levels());
+            assertEquals(List.of(List.of(1L, 2L), List.of(3L)), item.grid());
+            assertArrayEquals(new Drop[] { new Drop("stick", 4) }, item.extras());
+            assertEquals("thing", item.raw().get("any").asString());
+        }
+    }
+
+    @Test
+    void bindersAreBuiltOnceAndCheckTheirInput() throws IOException {
+        assertSame(Binder.of(Vec.class), Binder.of(Vec.class));
+        root r = Anvil.read(TEXT).parse();
+
+        assertThrows(IllegalArgumentException.class, () -> Anvil.bind(r.get("bare"), Needs.class));
+        assertThrows(IllegalArgumentException.class, () -> Binder.of(String.class));
+        assertThrows(ClassCastException.class, () -> Anvil.bind(new value.LongValue(1), Vec.class));
+        assertNull(Anvil.bind(new value.NullValue(), Vec.class));
+    }
+}
@@ -1,11 +1,30 @@
 package dev.badkraft.anvil.api;
 
 import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Assignment;
+import dev.badkraft.anvil.core.data.Attribute;
+import dev.badkraft.anvil.core.data.FieldIndex;
+import dev.badkraft.anvil.core.data.MappedSource;
+import dev.badkraft.anvil.core.data.Source;
+import dev.badkraft.anvil.core.data.Statement;
+import dev.badkraft.anvil.core.data.SymbolTable;
+import dev.badkraft.anvil.core.data.Value;
+import dev.badkraft.anvil.data.object;
 import dev.badkraft.anvil.parser.AnvilParser;
+import dev.badkraft.anvil.parser.ParseException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,4 +45,325 @@ public class ContextTest {
 
         // Passing verifies that source is properly positioned and ready for parsing
     }
+
+    @Test
+    public void mappedSourceParsesLikeStringSource() throws IOException {
+        // non-ASCII content: byte offsets differ from char offsets, decoded text must not
+        Path path = Paths.get("src/test/resources/anvil_modded_01.aml");
+        Context heap = Context.builder()
+                .namespace("heap")
+                .source(Source.of(Files.readString(path)))
+                .build();
+        Context mapped = Context.builder()
+                .namespace("mapped")
+                .source(Source.map(path))
+                .build();
+        heap.parse();
+        mapped.parse();
+
+        assertTrue(mapped.source() instanceof MappedSource);
+        List<Statement> expected = heap.statements();
+        List<Statement> actual = mapped.statements();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    @Test
+    public void streamSourceParsesLikeStringSource() throws IOException {
+        // a window far smaller than the file forces it to slide and grow while parsing
+        Path path = Paths.get("src/test/resources/anvil_modded_01.aml");
+        Context heap = Context.builder()
+                .namespace("heap")
+                .source(Source.of(Files.readString(path)))
+                .build();
+        heap.parse();
+        List<Statement> actual;
+        try (InputStream in = Files.newInputStream(path)) {
+            Context streamed = Context.builder()
+                    .namespace("streamed")
+                    .source(Source.stream(Channels.newChannel(in), 16))
+                    .build();
+            streamed.parse();
+            actual = streamed.statements();
+        }
+
+        List<Statement> expected = heap.statements();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assignment e = (Assignment) expected.get(i);
+            Assignment a = (Assignment) actual.get(i);
+            assertEquals(e.key(), a.key());
+            assertSameLeaves(e.value(), a.value());
+        }
+    }
+
+    @Test
+    public void linesAndColumnsComeFromLineStarts() {
+        // LF and CRLF endings, an empty line, and a last line with no newline
+        String text = "a := 1\nbb := 2\r\n\r\n\nccc := { d := 3 }\r\nlast := 4";
+        Source source = Source.of(text);
+        for (int p = 0; p <= text.length(); p++) {
+            assertEquals(line(text, p), source.lineAt(p), "line at " + p);
+            assertEquals(column(text, p), source.columnAt(p), "column at " + p);
+        }
+        assertEquals(1, source.columnAt(text.indexOf("bb")));
+        assertEquals(8, source.columnAt(text.indexOf("\r")));       // a CR ends the line it is on
+        assertEquals(6, source.lineAt(text.length()));
+
+        // errors report the same on a CRLF document
+        ParseException e = assertThrows(ParseException.class, () -> Context.builder().namespace("crlf")
+                .source("a := 1\r\nb := [1,\r\n  2 3]\r\n").build().parse());
+        assertEquals(3, e.line);
+        assertEquals(5, e.col);
+    }
+
+    @Test
+    public void streamLinesAreCountedAcrossDroppedText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 40; i++) text.append("key").append(i).append(" := ").append(i).append(i % 3 == 0 ? "\r\n" : "\n");
+        text.append("end");
+        Source source = Source.stream(Channels.newChannel(new ByteArrayInputStream(
+                text.toString().getBytes(StandardCharsets.UTF_8))), 16);
+        // walks forward as a parse does, so the window keeps dropping what is behind it
+        for (int p = 0; p <= text.length(); p++) {
+            source.setPosition(p);
+            source.release(p);
+            source.peek(8);
+            assertEquals(line(text, p), source.lineAt(p), "line at " + p);
+            assertEquals(column(text, p), source.columnAt(p), "column at " + p);
+        }
+    }
+
+    // What the lookups should give, counted the slow way.
+    private static int line(CharSequence text, int p) {
+        int line = 1;
+        for (int i = 0; i < p; i++) if (text.charAt(i) == '\n') line++;
+        return line;
+    }
+
+    private static int column(CharSequence text, int p) {
+        int start = p;
+        while (start > 0 && text.charAt(start - 1) != '\n') start--;
+        return p - start + 1;
+    }
+
+    @Test
+    public void streamSubstringReportsTextDroppedWhileReadingAhead() {
+        Source source = Source.stream(Channels.newChannel(new ByteArrayInputStream(
+                "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8))), 16);
+        assertEquals('f', source.peek(15));     // the window is full
+        source.setPosition(10);
+        source.release(10);
+
+        // reading on to 20 drops the first ten bytes, start included
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> source.substring(4, 20));
+        assertTrue(e.getMessage().contains("no longer buffered"));
+        assertEquals("abcdefghij", source.substring(10, 20));
+        assertThrows(IndexOutOfBoundsException.class, () -> source.substring(30, 40));
+    }
+
+    @Test
+    public void streamedCompositesPrintFromTheirChildren() throws IOException {
+        // by the end the window has slid far past the first statements' spans
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("o").append(i).append(" @[n=").append(i)
+                .append("] := { name := \"x\", pos := (1, 2.5), tags @[t] := [a, 0x1F] }\n")
+                .append("a").append(i).append(" := [1, [2, 3]]\n")
+                .append("t").append(i).append(" := (true, null)\n");
+        }
+        Context streamed = Context.builder()
+                .namespace("streamed")
+                .source(Source.stream(Channels.newChannel(new ByteArrayInputStream(
+                        text.toString().getBytes(StandardCharsets.UTF_8))), 16))
+                .build();
+        streamed.parse();
+
+        List<Statement> statements = streamed.statements();
+        assertEquals("o0 @[n=0] := { name := \"x\", pos := (1, 2.5), tags @[t] := [a, 0x1F] }",
+                statements.get(0).toString());
+        assertEquals("a0 := [1, [2, 3]]", statements.get(1).toString());
+        assertEquals("t0 := (true, null)", statements.get(2).toString());
+        assertEquals("(1, 2.5)", ((Value.ObjectValue) statements.get(0).value()).get("pos").toString());
+        for (Statement statement : statements) assertNotNull(statement.toString());
+    }
+
+    @Test
+    public void sharedSymbolTableInternsKeysOnce() {
+        SymbolTable symbols = new SymbolTable();
+        Context first = Context.builder().namespace("a").symbols(symbols)
+                .source("item @[tag] := { name := \"sword\", damage := 7 }").build();
+        Context second = Context.builder().namespace("b").symbols(symbols)
+                .source("item := { damage := 9, name := \"axe\" }").build();
+        first.parse();
+        int size = symbols.size();
+        second.parse();
+        assertEquals(size, symbols.size());
+
+        Assignment a = (Assignment) first.statements().getFirst();
+        Assignment b = (Assignment) second.statements().getFirst();
+        assertEquals(a.symbol(), b.symbol());
+        assertSame(a.key(), b.key());
+        var fields = ((Value.ObjectValue) b.value()).fields();
+        assertEquals(symbols.lookup("damage"), ((Value.Field) fields.getFirst()).symbol());
+        assertEquals(Map.entry("damage", fields.getFirst().getValue()), fields.getFirst());
+        assertEquals(Set.of("item", "tag", "name", "damage"), first.exportedIdentifiers());
+
+        // names added by hand go through the same table
+        first.addIdentifier("extra");
+        assertTrue(symbols.lookup("extra") >= 0);
+        assertEquals(Set.of("item", "tag", "name", "damage", "extra"), first.exportedIdentifiers());
+    }
+
+    @Test
+    public void statementsCompareByKeyAcrossTables() {
+        Context first = Context.builder().namespace("a").source("item @[tag] := [7]").build();
+        Context second = Context.builder().namespace("b").source("other := 1\nitem @[tag] := [7]").build();
+        first.parse();
+        second.parse();
+
+        Assignment a = (Assignment) first.statements().getFirst();
+        Assignment b = (Assignment) second.statements().get(1);
+        assertNotEquals(a.symbol(), b.symbol());
+        assertEquals(a.attributes(), b.attributes());
+
+        // built by hand, interned into the shared table
+        Attribute tag = new Attribute("tag");
+        assertEquals(tag, a.attributes().getFirst());
+        Assignment built = new Assignment("item", List.of(tag), a.value());
+        assertEquals(built, a);
+        assertEquals(built.hashCode(), a.hashCode());
+        assertSame(SymbolTable.shared(), built.symbols());
+        assertEquals("item @[tag] := [7]", built.toString());
+        assertEquals(built, new Assignment(new SymbolTable(), "item", List.of(tag), a.value()));
+        assertNotEquals(built, new Assignment("thing", List.of(tag), a.value()));
+    }
+
+    @Test
+    public void objectFieldsAreFoundThroughOneSharedIndex() throws IOException {
+        StringBuilder text = new StringBuilder("big := {");
+        for (int i = 0; i < 100; i++) text.append(" f").append(i).append(" := ").append(i).append(',');
+        text.setLength(text.length() - 1);
+        Context context = Context.builder().namespace("index").source(text.append(" }").toString()).build();
+        context.parse();
+
+        Value.ObjectValue big = (Value.ObjectValue) context.statements().getFirst().value();
+        FieldIndex index = big.index();
+        assertEquals(100, index.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, index.indexOf("f" + i));
+            assertEquals(String.valueOf(i), big.get("f" + i).toString());
+        }
+        assertEquals(-1, index.indexOf("f100"));
+        assertNull(big.get("missing"));
+        assertEquals("f0", big.asMap().keySet().iterator().next());
+        assertEquals(List.of("f0", "f1", "f2"), index.keySet().stream().limit(3).toList());
+
+        object runtime = new object(big);
+        assertEquals(42, runtime.get("f42").asLong());
+        assertTrue(runtime.has("f99"));
+        assertEquals(index.keySet(), runtime.fields());
+
+        FieldIndex repeated = FieldIndex.of(List.of(Map.entry("a", 1), Map.entry("b", 2), Map.entry("a", 3)));
+        assertEquals(0, repeated.indexOf("a"));
+        assertEquals("a", repeated.duplicate());
+    }
+
+    @Test
+    public void attributesAreReadWithoutBoxing() {
+        StringBuilder keys = new StringBuilder();
+        for (int i = 0; i < 20; i++) keys.append("k").append(i).append('=').append(i).append(',');
+        Context context = Context.builder().namespace("attrs").source("""
+                small @[count=3, ratio=0.5, on=true, name="x", hex=0x10, flag] := { a := 1 }
+                many @[%s] := [ 1 ]
+                plain := 5
+                """.formatted(keys.substring(0, keys.length() - 1))).build();
+        context.parse();
+
+        Value small = context.statements().get(0).value();
+        assertSame(small.getAttributes(), small.getAttributes());
+        assertEquals(3, small.getLongAttr("count", -1));
+        assertEquals(16, small.getLongAttr("hex", -1));
+        assertEquals(0.5, small.getDoubleAttr("ratio", 0));
+        assertEquals(3.0, small.getDoubleAttr("count", 0));
+        assertTrue(small.getBooleanAttr("on", false));
+        assertEquals("x", small.getStringAttr("name", null));
+        assertEquals(-1, small.getLongAttr("name", -1));
+        assertEquals(-1, small.getLongAttr("missing", -1));
+        assertTrue(small.getAttributes().hasTag("flag"));
+        assertFalse(small.getAttributes().hasTag("count"));
+
+        // the list view follows later additions, across a regrowth of the arrays too
+        List<Attribute> view = small.getAttributes().asList();
+        for (int i = 0; i < 10; i++) small.getAttributes().add(new Attribute("extra" + i));
+        assertEquals(16, view.size());
+        assertEquals("extra9", view.get(15).key());
+        assertTrue(small.hasAttribute("extra9"));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(new Attribute("late")));
+
+        Value many = context.statements().get(1).value();
+        assertEquals(20, many.getAttributes().size());
+        for (int i = 0; i < 20; i++) assertEquals(i, many.getLongAttr("k" + i, -1));
+        assertFalse(many.hasAttribute("k20"));
+        assertEquals("k19", many.findAttribute("k19").key());
+
+        Value plain = context.statements().get(2).value();
+        assertEquals(7, plain.getLongAttr("count", 7));
+        assertFalse(plain.hasAttribute("count"));
+    }
+
+    @Test
+    public void statementFilterSkipsRejectedValues() {
+        Context context = Context.builder().namespace("filter")
+                .statementFilter(attrs -> attrs.stream()
+                        .anyMatch(a -> a.key().equals("type") && "ore".equals(String.valueOf(a.value()))))
+                .source("""
+                    @[pack]
+                    iron @[type=ore] := { drop := "raw_iron" }
+                    // never parsed: a duplicate field would otherwise fail the document
+                    dirt @[type=block] := { drop := "dirt", drop := "dirt" }
+                    gold @[type=ore, rare] := { drop := "raw_gold" }
+                    untagged := 1
+                    """)
+                .build();
+        context.parse();
+
+        assertEquals(List.of("iron", "gold"), context.statements().stream().map(Statement::identifier).toList());
+        assertEquals(1, context.attributes().size());
+        assertFalse(context.exportedIdentifiers().contains("dirt"));
+
+        // the lazy index applies the same filter
+        Context lazy = Context.builder().namespace("filter")
+                .statementFilter(attrs -> !attrs.isEmpty())
+                .source("a @[x] := 1\nb := { c := 2, c := 3 }\nd @[y] := 4")
+                .build();
+        var index = AnvilParser.index(lazy);
+        assertEquals(2, index.size());
+        assertEquals("d", index.key(1));
+    }
+
+    // composites on a streamed source do not keep their text, so compare leaf by leaf
+    private static void assertSameLeaves(Value expected, Value actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        switch (expected) {
+            case Value.ArrayValue e -> assertSameElements(e.elements(), ((Value.ArrayValue) actual).elements());
+            case Value.TupleValue e -> assertSameElements(e.elements(), ((Value.TupleValue) actual).elements());
+            case Value.ObjectValue e -> {
+                var fields = ((Value.ObjectValue) actual).fields();
+                assertEquals(e.fields().size(), fields.size());
+                for (int i = 0; i < fields.size(); i++) {
+                    assertEquals(e.fields().get(i).getKey(), fields.get(i).getKey());
+                    assertSameLeaves(e.fields().get(i).getValue(), fields.get(i).getValue());
+                }
+            }
+            default -> assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    private static void assertSameElements(List<Value> expected, List<Value> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) assertSameLeaves(expected.get(i), actual.get(i));
+    }
 }
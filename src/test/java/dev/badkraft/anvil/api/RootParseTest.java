@@ -1,15 +1,31 @@
 // src/test/java/dev/badkraft/anvil/api/RootParseTest.java
 package dev.badkraft.anvil.api;
 
+import dev.badkraft.anvil.core.api.Context;
 import dev.badkraft.anvil.data.array;
+import dev.badkraft.anvil.data.attribute;
 import dev.badkraft.anvil.data.blob;
 import dev.badkraft.anvil.data.object;
+import dev.badkraft.anvil.data.tuple;
 import dev.badkraft.anvil.data.value;
+import dev.badkraft.anvil.parser.AnvilParser;
+import dev.badkraft.anvil.parser.ParseException;
+import dev.badkraft.anvil.parser.ParserSession;
+import dev.badkraft.anvil.parser.TreeBuilder;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -263,4 +279,292 @@ class RootParseTest {
         object bedrock = forward.resolveBase("bedrock");
         assertEquals(100.0, bedrock.get("hardness").asDouble());
     }
-}
\ No newline at end of file
+
+    @Test
+    void lazyParseMatchesEagerParse() throws IOException {
+        root eager = Anvil.read(WITH_NODE_ATTR).parse();
+        root lazy = Anvil.read(WITH_NODE_ATTR).lazy().parse();
+
+        assertTrue(lazy.hasAttribute("secure"));
+        node server = lazy.node("server");
+        assertTrue(server.hasAttribute("host"));
+        assertTrue(server.attribute("deprecated").asBoolean());
+        assertEquals(eager.node("server").get("ip").asString(), server.get("ip").asString());
+        assertEquals("lobby", server.get("name").asString());
+    }
+
+    @Test
+    void projectKeepsOnlySelectedPaths() throws IOException {
+        root r = Anvil.read("""
+        #!aml
+        @[pack]
+        stone @[type="block"] := { hardness := 1.5, drop := "stone", sounds := { break := "a", place := "b" } }
+        ore_iron := { hardness := 3.0, drop := "raw_iron", xp := (1, 3) }
+        ore_gold : ore_iron := { drop := "raw_gold" }
+        glass := [1, 2, 3]
+        tint.red := { hardness := 0.3 }
+        tint.blue := { opacity := 0.5, hardness := 0.2 }
+        """).project("*.hardness", "ore_*.drop", "stone.sounds.place", "tint.blue.opacity");
+
+        assertTrue(r.hasAttribute("pack"));
+        assertEquals(List.of("stone", "ore_iron", "ore_gold", "tint.red", "tint.blue"),
+                r.nodes().stream().map(node::identifier).toList());
+
+        object stone = r.node("stone").value().asObject();
+        assertEquals(Set.of("hardness", "sounds"), stone.fields());
+        assertEquals(Set.of("place"), stone.get("sounds").asObject().fields());
+        assertTrue(r.node("stone").hasAttribute("type"));
+
+        object iron = r.node("ore_iron").value().asObject();
+        assertEquals(Set.of("hardness", "drop"), iron.fields());
+        assertEquals(3.0, iron.get("hardness").asDouble());
+
+        object gold = r.node("ore_gold").value().asObject();
+        assertEquals("ore_iron", gold.base());
+        assertEquals(Set.of("drop"), gold.fields());
+
+        assertThrows(NoSuchElementException.class, () -> r.node("glass"));
+        assertEquals(0.3, r.node("tint.red").get("hardness").asDouble());
+        assertEquals(Set.of("opacity", "hardness"), r.node("tint.blue").value().asObject().fields());
+    }
+
+    @Test
+    void applyEditReparsesOnlyTouchedStatements() throws IOException {
+        StringBuilder text = new StringBuilder("""
+        #!aml
+        @[pack]
+        a := { x := 1 }
+        b := "two"
+        c := [1, 2, 3], d := 4.0
+        """);
+        root r = Anvil.read(text.toString()).editable().parse();
+        node a = r.node("a"), c = r.node("c"), d = r.node("d");
+
+        edit(r, text, text.indexOf("\"two\""), 5, "\"three\"");
+        assertEquals("three", r.get("b").asString());
+        assertSame(a, r.node("a"));
+        assertSame(c, r.node("c"));
+        assertSame(d, r.node("d"));
+
+        // a new statement between two others, and a duplicate key that loses to the first
+        edit(r, text, text.indexOf("c :="), 0, "e := true\na := 0\n");
+        assertEquals(List.of("a", "b", "e", "c", "d"), r.nodes().stream().map(node::identifier).toList());
+        assertTrue(r.get("e").asBoolean());
+        assertSame(a, r.node("a"));
+        assertSame(d, r.node("d"));
+
+        // a broken edit leaves the root as it was
+        assertThrows(ParseException.class, () -> r.applyEdit(text.indexOf("x :="), 0, "\""));
+        assertEquals(1, r.node("a").get("x").asLong());
+
+        // module attributes are in the header, which is parsed again
+        edit(r, text, text.indexOf("pack"), 4, "mod");
+        assertTrue(r.hasAttribute("mod"));
+        assertFalse(r.hasAttribute("pack"));
+        assertEquals(List.of("a", "b", "e", "c", "d"), r.nodes().stream().map(node::identifier).toList());
+
+        // only an editable root keeps its text
+        root plain = Anvil.read(text.toString()).parse();
+        assertThrows(IllegalStateException.class, () -> plain.applyEdit(0, 0, " "));
+        assertThrows(IllegalStateException.class, () -> Anvil.read(
+                new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8))).editable().parse());
+
+        // a lazy root's first edit parses the text in full
+        root lazy = Anvil.read(text.toString()).lazy().editable().parse();
+        edit(lazy, new StringBuilder(text), text.indexOf("true"), 4, "false");
+        assertFalse(lazy.get("e").asBoolean());
+        assertEquals(List.of("a", "b", "e", "c", "d"), lazy.nodes().stream().map(node::identifier).toList());
+    }
+
+    @Test
+    void runtimeValuesAreConvertedOnFirstRead() throws IOException {
+        root r = Anvil.read("""
+        #!aml
+        server @[tag="edge"] := { port := 25565, hosts := ["a", "b"], mode := fast }
+        """).parse();
+
+        object server = r.node("server").value().asObject();
+        assertSame(server.get("hosts"), server.get("hosts"));
+        assertEquals("b", server.get("hosts").asArray().get(1).asString());
+        assertEquals(25565, server.get("port").asLong());
+        assertSame(server.attribute("tag"), server.attribute("tag"));
+        assertEquals("edge", server.attribute("tag").value().asString());
+        assertEquals("fast", server.get("mode").asString());
+    }
+
+    @Test
+    void directBuildMatchesConvertedTree() throws IOException {
+        for (String file : List.of("mods/anvil_modded_01.aml", "objects.aml", "tuples.aml", "blobs.aml", "arrays.aml")) {
+            Path path = Paths.get("src/test/resources", file);
+            root tree = Anvil.load(path).parse();
+            root direct = Anvil.load(path).direct().parse();
+
+            assertAttributes(tree.attributes(), direct.attributes(), file);
+            assertEquals(tree.nodes().size(), direct.nodes().size(), file);
+            for (node expected : tree.nodes()) {
+                node actual = direct.node(expected.identifier());
+                assertAttributes(expected.attributes(), actual.attributes(), file);
+                assertSameValue(expected.value(), actual.value(), file + " " + expected.identifier());
+            }
+        }
+        assertThrows(IllegalStateException.class,
+                () -> Anvil.read(MINIMAL_ANVL).direct().parse().applyEdit(0, 0, " "));
+
+        // the same edit behaviour as the other modes, and no silent change of mode
+        String text = "#!aml\na := 1\nb := [1, 2]\n";
+        root editable = Anvil.read(text).direct().editable().parse();
+        editable.applyEdit(text.indexOf('1'), 1, "5");
+        assertEquals(5, editable.get("a").asLong());
+        assertEquals(2, editable.get("b").asArray().getLong(1));
+        assertThrows(IllegalStateException.class, () -> Anvil.read(text).direct().lazy().parse());
+        assertThrows(IllegalStateException.class,
+                () -> Anvil.read(text).direct().parallel(ForkJoinPool.commonPool()).parse());
+        assertThrows(IllegalStateException.class,
+                () -> Anvil.read(text).direct().withSession(new ParserSession()).parse());
+    }
+
+    @Test
+    void numericArraysAndTuplesReadWithoutBoxing() throws IOException {
+        String text = """
+        #!aml
+        ids := [1, 2, 0x10]
+        pos := (100.5, 64.0, -200.3)
+        mixed := (1, 2.5)
+        named := ["a", 1]
+        colors := [#FF0000, 0x10, 3]
+        """;
+        for (root r : List.of(Anvil.read(text).parse(), Anvil.read(text).direct().parse())) {
+            array ids = r.get("ids").asArray();
+            assertArrayEquals(new long[] { 1, 2, 16 }, ids.asLongArray());
+            assertEquals(16, ids.getLong(2));
+            assertEquals(2.0, ids.getDouble(1));
+            assertEquals(new value.LongValue(1), ids.get(0));
+            long[] sum = { 0 };
+            ids.forEachLong(v -> sum[0] += v);
+            assertEquals(19, sum[0]);
+
+            tuple pos = r.get("pos").asTuple();
+            assertEquals(-200.3, pos.getDouble(2));
+            assertArrayEquals(new double[] { 100.5, 64.0, -200.3 }, pos.asDoubleArray());
+            assertThrows(ClassCastException.class, () -> pos.getLong(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> pos.get(3));
+
+            tuple mixed = r.get("mixed").asTuple();
+            assertEquals(new value.LongValue(1), mixed.get(0));
+            assertArrayEquals(new double[] { 1.0, 2.5 }, mixed.asDoubleArray());
+            assertThrows(ClassCastException.class, mixed::asLongArray);
+            assertThrows(ClassCastException.class, () -> r.get("named").asArray().asDoubleArray());
+            assertArrayEquals(new long[] { 0xFF0000, 16, 3 }, r.get("colors").asArray().asLongArray());
+        }
+
+        // hex literals join the numeric run in the direct build, as in the converted tree
+        List<String> kinds = new ArrayList<>();
+        AnvilParser.build(Context.builder().namespace("kinds").source(text).build(), new TreeBuilder<String, String>() {
+            @Override public void moduleAttributes(List<String> attributes) {}
+            @Override public void statement(String key, String base, List<String> attributes, String value) { kinds.add(key + " " + value); }
+            @Override public String attribute(String key, String value) { return key; }
+            @Override public String object(String base, List<String> keys, List<String> values, List<String> attributes) { return "object"; }
+            @Override public String array(List<String> elements, List<String> attributes) { return "array" + elements; }
+            @Override public String tuple(List<String> elements, List<String> attributes) { return "tuple" + elements; }
+            @Override public String longArray(long[] values, List<String> attributes) { return "long[]"; }
+            @Override public String doubleTuple(double[] values, List<String> attributes) { return "double()"; }
+            @Override public String string(String content) { return "string"; }
+            @Override public String blob(String tag, String text) { return "blob"; }
+            @Override public String longValue(long value) { return "long"; }
+            @Override public String doubleValue(double value) { return "double"; }
+            @Override public String hexValue(long value) { return "hex"; }
+            @Override public String booleanValue(boolean value) { return "boolean"; }
+            @Override public String nullValue() { return "null"; }
+            @Override public String bare(String text) { return "bare"; }
+        });
+        assertEquals(List.of("ids long[]", "pos double()", "mixed tuple[long, double]",
+                "named array[string, long]", "colors long[]"), kinds);
+    }
+
+    @Test
+    void containersAreWalkedInPlace() throws IOException {
+        StringBuilder text = new StringBuilder("#!aml\nbig := [");
+        for (int i = 0; i < 10_000; i++) text.append("{ id := ").append(i).append(" }, ");
+        text.setLength(text.length() - 2);
+        text.append("]\nids @[kind=\"ids\"] := [1, 2, 3]\npoint := { x := 1, y := 2 }\n");
+        root r = Anvil.read(text.toString()).parse();
+
+        assertSame(r.nodes(), r.nodes());
+        assertEquals(List.of("big", "ids", "point"), r.stream().map(node::identifier).toList());
+        List<String> seen = new ArrayList<>();
+        for (node n : r) seen.add(n.identifier());
+        assertEquals(3, r.size());
+        assertEquals(seen, r.nodes().stream().map(node::identifier).toList());
+
+        array big = r.get("big").asArray();
+        Spliterator<value> all = big.spliterator();
+        Spliterator<value> half = all.trySplit();
+        assertNotNull(half);
+        assertEquals(5_000, half.estimateSize());
+        assertEquals(5_000, all.estimateSize());
+        long sum = big.elements().parallelStream().mapToLong(v -> v.asObject().get("id").asLong()).sum();
+        assertEquals(49_995_000, sum);
+        assertSame(big.get(7), big.elements().get(7));
+
+        array ids = r.get("ids").asArray();
+        assertSame(ids.attributes(), ids.attributes());
+        assertEquals(6, ids.longStream().sum());
+        List<value> each = new ArrayList<>();
+        ids.forEach(each::add);
+        assertEquals(ids.elements(), each);
+        assertThrows(UnsupportedOperationException.class, () -> ids.elements().add(new value.LongValue(4)));
+
+        object point = r.get("point").asObject();
+        StringBuilder fields = new StringBuilder();
+        point.forEach((k, v) -> fields.append(k).append('=').append(v.asLong()).append(' '));
+        assertEquals("x=1 y=2 ", fields.toString());
+        assertEquals(2, point.asMap().get("y").asLong());
+        assertEquals(2, point.size());
+    }
+
+    private static void assertSameValue(value expected, value actual, String where) {
+        assertEquals(expected.getClass(), actual.getClass(), where);
+        switch (expected) {
+            case object o -> {
+                object a = actual.asObject();
+                assertEquals(o.base(), a.base(), where);
+                assertEquals(List.copyOf(o.fields()), List.copyOf(a.fields()), where);
+                assertAttributes(o.attributes(), a.attributes(), where);
+                for (String field : o.fields()) assertSameValue(o.get(field), a.get(field), where + "." + field);
+            }
+            case array arr -> {
+                assertAttributes(arr.attributes(), actual.asArray().attributes(), where);
+                assertSameElements(arr.elements(), actual.asArray().elements(), where);
+            }
+            case tuple t -> {
+                assertAttributes(t.attributes(), actual.asTuple().attributes(), where);
+                assertSameElements(t.elements(), actual.asTuple().elements(), where);
+            }
+            case blob b -> {
+                assertEquals(b.content(), actual.asBlob().content(), where);
+                assertEquals(b.hasTag(), actual.asBlob().hasTag(), where);
+            }
+            default -> assertEquals(expected, actual, where);
+        }
+    }
+
+    private static void assertSameElements(List<value> expected, List<value> actual, String where) {
+        assertEquals(expected.size(), actual.size(), where);
+        for (int i = 0; i < expected.size(); i++) assertSameValue(expected.get(i), actual.get(i), where + "[" + i + "]");
+    }
+
+    private static void assertAttributes(List<attribute> expected, List<attribute> actual, String where) {
+        assertEquals(expected.size(), actual.size(), where);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).key(), actual.get(i).key(), where);
+            value e = expected.get(i).value(), a = actual.get(i).value();
+            if (e == null) assertNull(a, where);
+            else assertSameValue(e, a, where + " @" + expected.get(i).key());
+        }
+    }
+
+    private static void edit(root r, StringBuilder text, int offset, int removed, String inserted) {
+        r.applyEdit(offset, removed, inserted);
+        text.replace(offset, offset + removed, inserted);
+    }
+}
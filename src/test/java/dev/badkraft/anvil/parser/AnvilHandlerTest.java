@@ -0,0 +1,104 @@
+// src/test/java/dev/badkraft/anvil/parser/AnvilHandlerTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.api.Anvil;
+import dev.badkraft.anvil.core.api.Context;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnvilHandlerTest {
+
+    private static final String SOURCE = """
+        #!aml
+        @[version="1.0"]
+        player @[saved] := {
+            name  := "Notch"
+            stats := { hp := 20, speed := 0.5 }
+            pos   := (10, -32)
+            look  := [#FF00FF, true, null, @md`*hi*`]
+        }
+        port := 0x10
+        """;
+
+    /** Records every callback as a short token. */
+    private static class Recorder implements AnvilHandler {
+        final StringBuilder out = new StringBuilder();
+        private void log(Object o) { out.append(o).append(' '); }
+
+        @Override public Action onStatement(String key, String base) { log(key + ":="); return Action.CONTINUE; }
+        @Override public void onStatementEnd()                       { log(";"); }
+        @Override public Action onAttribute(String key, boolean v)   { log("@" + key + (v ? "=" : "")); return Action.CONTINUE; }
+        @Override public Action onObjectStart()                      { log("{"); return Action.CONTINUE; }
+        @Override public Action onField(String name)                 { log(name + ":="); return Action.CONTINUE; }
+        @Override public void onObjectEnd()                          { log("}"); }
+        @Override public Action onArrayStart()                       { log("["); return Action.CONTINUE; }
+        @Override public void onArrayEnd()                           { log("]"); }
+        @Override public Action onTupleStart()                       { log("("); return Action.CONTINUE; }
+        @Override public void onTupleEnd()                           { log(")"); }
+        @Override public void onString(String value)                 { log('"' + value + '"'); }
+        @Override public void onBlob(String tag, String content)     { log(tag + "`" + content + "`"); }
+        @Override public void onLong(long value)                     { log(value); }
+        @Override public void onDouble(double value)                 { log(value); }
+        @Override public void onHex(long value)                      { log("#" + Long.toHexString(value)); }
+        @Override public void onBoolean(boolean value)               { log(value); }
+        @Override public void onNull()                               { log("null"); }
+    }
+
+    @Test
+    void pushesEveryValueInOrder() throws IOException {
+        Recorder recorder = new Recorder();
+        Anvil.read(SOURCE).stream(recorder);
+        assertEquals("@version= \"1.0\" player:= @saved { name:= \"Notch\" stats:= { hp:= 20 speed:= 0.5 } "
+                + "pos:= ( 10 -32 ) look:= [ #ff00ff true null md`*hi*` ] } ; port:= 16 ; ",
+                recorder.out.toString());
+    }
+
+    @Test
+    void skipPassesOverSubtrees() throws IOException {
+        Recorder recorder = new Recorder() {
+            @Override public Action onField(String name) {
+                super.onField(name);
+                return name.equals("stats") || name.equals("look") ? Action.SKIP : Action.CONTINUE;
+            }
+            @Override public Action onTupleStart() { super.onTupleStart(); return Action.SKIP; }
+            @Override public Action onAttribute(String key, boolean v) { super.onAttribute(key, v); return Action.SKIP; }
+        };
+        Anvil.read(SOURCE).stream(recorder);
+        assertEquals("@version= player:= @saved { name:= \"Notch\" stats:= pos:= ( look:= } ; port:= 16 ; ",
+                recorder.out.toString());
+    }
+
+    @Test
+    void skippingEveryStatementStillReachesTheEnd() throws IOException {
+        for (Path file : List.of(Paths.get("src/test/resources/large_block_lib.aml"),
+                                 Paths.get("src/test/resources/anvil_modded_01.aml"))) {
+            Context context = Context.builder().source(Files.readString(file)).build();
+            context.parse();
+            int[] statements = {0};
+            AnvilParser.parse(Context.builder().source(Files.readString(file)).build(), new AnvilHandler() {
+                @Override public Action onStatement(String key, String base) {
+                    statements[0]++;
+                    return Action.SKIP;
+                }
+            });
+            assertEquals(context.statements().size(), statements[0], file.toString());
+        }
+    }
+
+    @Test
+    void skipStillReportsUnclosedComposites() {
+        AnvilHandler skipAll = new AnvilHandler() {
+            @Override public Action onObjectStart() { return Action.SKIP; }
+        };
+        ParseException e = assertThrows(ParseException.class,
+                () -> AnvilParser.parse(Context.builder().source("a := { b := [1, 2]").build(), skipAll));
+        assertEquals(ErrorCode.EXPECTED_OBJECT_CLOSE, e.code);
+    }
+}
@@ -0,0 +1,149 @@
+// src/test/java/dev/badkraft/anvil/parser/AnvilReaderTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Value;
+import dev.badkraft.anvil.parser.AnvilReader.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.badkraft.anvil.parser.AnvilReader.Event.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnvilReaderTest {
+
+    private static final String SOURCE = """
+        #!aml
+        @[version="1.0"]
+
+        player : entity @[saved] := {
+            name   := "Notch"
+            health := 20
+            pos    := (10, 64.5, -32)
+            tags   := [#FF00FF, true, null, @md`**bold**`]
+        }
+        """;
+
+    @Test
+    void emitsEventsInDocumentOrder() {
+        AnvilReader reader = reader(SOURCE);
+        List<Event> events = new ArrayList<>();
+        while (reader.hasNext()) events.add(reader.next());
+
+        assertEquals(List.of(
+                ATTRIBUTE,
+                START_STATEMENT, ATTRIBUTE, START_OBJECT,
+                FIELD_NAME, STRING,
+                FIELD_NAME, NUMBER,
+                FIELD_NAME, START_TUPLE, NUMBER, NUMBER, NUMBER, END_TUPLE,
+                FIELD_NAME, START_ARRAY, HEX, BOOLEAN, NULL, BLOB, END_ARRAY,
+                END_OBJECT, END_STATEMENT,
+                END_DOCUMENT), events);
+    }
+
+    @Test
+    void exposesNamesPrimitivesAndSpans() {
+        AnvilReader reader = reader(SOURCE);
+
+        assertEquals(ATTRIBUTE, reader.next());
+        assertEquals("version", reader.name());
+        assertEquals(STRING, reader.attributeValue());
+        assertEquals("1.0", reader.text());
+
+        assertEquals(START_STATEMENT, reader.next());
+        assertEquals("player", reader.name());
+        assertEquals("entity", reader.base());
+        assertEquals(ATTRIBUTE, reader.next());
+        assertNull(reader.attributeValue());
+        assertEquals(START_OBJECT, reader.next());
+        assertEquals("entity", reader.base());
+        int open = reader.start();
+
+        assertEquals(FIELD_NAME, reader.next());
+        assertEquals("name", reader.name());
+        assertEquals(STRING, reader.next());
+        assertEquals("Notch", reader.text());
+
+        reader.next();
+        assertEquals(NUMBER, reader.next());
+        assertTrue(reader.isInteger());
+        assertEquals(20, reader.longValue());
+
+        reader.next();
+        reader.next();
+        reader.next();
+        assertEquals(NUMBER, reader.next());
+        assertFalse(reader.isInteger());
+        assertEquals(64.5, reader.doubleValue());
+        assertEquals(NUMBER, reader.next());
+        assertEquals(-32, reader.longValue());
+        assertEquals(END_TUPLE, reader.next());
+
+        reader.next();
+        reader.next();
+        assertEquals(HEX, reader.next());
+        assertEquals(0xFF00FF, reader.longValue());
+        assertEquals(BOOLEAN, reader.next());
+        assertTrue(reader.booleanValue());
+        assertEquals(NULL, reader.next());
+        assertEquals(BLOB, reader.next());
+        assertEquals("md", reader.tag());
+        assertEquals("`**bold**`", reader.text());
+        assertEquals(END_ARRAY, reader.next());
+
+        assertEquals(END_OBJECT, reader.next());
+        assertEquals(open, reader.start());
+        assertEquals('}', SOURCE.charAt(reader.end() - 1));
+    }
+
+    @Test
+    void reportsSyntaxErrorsAsTheParserDoes() {
+        AnvilReader reader = reader("a := [1 2]");
+        assertEquals(START_STATEMENT, reader.next());
+        assertEquals(START_ARRAY, reader.next());
+        assertEquals(NUMBER, reader.next());
+        ParseException e = assertThrows(ParseException.class, reader::next);
+        assertEquals(ErrorCode.MISSING_COMMA_IN_ARRAY, e.code);
+    }
+
+    @Test
+    void indexParsesValuesOnFirstUse() {
+        Context context = Context.builder().namespace("reader").source("""
+            a := { x := [1, 2, (3, 4)] }
+            b : a @[tag] := { y := "two" }
+            c := { broken := }
+            d := axe
+            e := [red, "green", #FF00FF]
+            """).build();
+        StatementIndex index = AnvilParser.index(context);
+
+        assertEquals(5, index.size());
+        assertEquals(1, index.indexOf("b"));
+        assertEquals("a", index.base(1));
+        assertEquals("tag", index.attributes(1).getFirst().key());
+        assertEquals("{ x := [1, 2, (3, 4)] }",
+                context.source().substring(index.valueStart(0), index.valueEnd(0)));
+
+        assertFalse(index.isParsed(1));
+        assertEquals("b", index.statement(1).identifier());
+        assertTrue(index.isParsed(1));
+        assertFalse(index.isParsed(0));
+
+        // the broken value only fails when it is asked for
+        assertThrows(ParseException.class, () -> index.statement(2));
+
+        // each value is lexed again from its own span, bare words included
+        assertTrue(index.statement(3).value() instanceof Value.BareLiteral);
+        assertEquals("axe", index.statement(3).value().toString());
+        Value.ArrayValue e = (Value.ArrayValue) index.statement(4).value();
+        assertEquals(3, e.elements().size());
+        assertTrue(e.elements().get(2) instanceof Value.HexValue);
+        assertEquals("[red, \"green\", #FF00FF]", e.toString());
+    }
+
+    private static AnvilReader reader(String text) {
+        return AnvilReader.of(Context.builder().namespace("reader").source(text).build());
+    }
+}
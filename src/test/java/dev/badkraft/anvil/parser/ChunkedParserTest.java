@@ -0,0 +1,127 @@
+// src/test/java/dev/badkraft/anvil/parser/ChunkedParserTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Source;
+import dev.badkraft.anvil.core.data.Statement;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedParserTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    void cutsOnlyBeforeTopLevelStatements() {
+        String text = """
+            a := { b := 1 }
+            c : a := "d := 2"
+            // e := 3
+            f @[g] := `h := 4`
+            i := foo
+            """;
+        var cuts = new ChunkedParser.Cuts(Source.of(text), 0, 1);
+
+        assertEquals(text.indexOf("c :"), cuts.next());
+        assertEquals(text.indexOf("f @"), cuts.next());
+        assertEquals(text.indexOf("i :="), cuts.next());
+        assertEquals(text.length(), cuts.next());
+        assertEquals(text.length(), cuts.next());
+    }
+
+    @Test
+    void barePrefixedValuesAreNotCutAt() {
+        // a value on the line after its key looks like 'key : base' to a naive scan
+        String text = """
+            item :=
+                minecraft:stone
+            other : item @[x]
+                := { y := 1 }
+            tool :=
+                minecraft:iron_pick
+            last := 1
+            """;
+        var cuts = new ChunkedParser.Cuts(Source.of(text), 0, 1);
+
+        assertEquals(text.indexOf("other :"), cuts.next());
+        assertEquals(text.indexOf("tool :="), cuts.next());
+        assertEquals(text.indexOf("last :="), cuts.next());
+        assertEquals(text.length(), cuts.next());
+    }
+
+    @Test
+    void otherFailuresAreRethrown() {
+        String text = "a @[x] := [1]\nb @[y] := [2]\nc @[z] := [3]\n";
+        Context context = Context.builder().namespace("chunked").source(text)
+                .statementFilter(attrs -> { throw new IllegalStateException("filter"); })
+                .build();
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ChunkedParser.parse(context, POOL, 1));
+        // join() may hand back a copy made on this thread, which names the original
+        assertTrue(e.getMessage().contains("filter"));
+    }
+
+    @Test
+    void everyFixtureParsesAsItDoesSequentially() throws IOException {
+        List<Path> files;
+        try (var stream = Files.list(Paths.get("src/test/resources"))) {
+            files = stream.filter(p -> p.toString().endsWith(".aml")).sorted().toList();
+        }
+        for (Path file : files) {
+            String text = Files.readString(file);
+            Context expected = context(text);
+            Context actual = context(text);
+            ParseException sequential = null, chunked = null;
+            try { expected.parse(); } catch (ParseException e) { sequential = e; }
+            try { ChunkedParser.parse(actual, POOL, 1); } catch (ParseException e) { chunked = e; }
+
+            if (sequential != null) {
+                assertNotNull(chunked, file.toString());
+                assertEquals(sequential.getMessage(), chunked.getMessage(), file.toString());
+                continue;
+            }
+            assertNull(chunked, file.toString());
+            assertSameStatements(expected, actual, file.toString());
+        }
+    }
+
+    @Test
+    void reportsTheSequentialError() {
+        String text = """
+            a := 1
+            b := { c := }
+            d := [1, 2
+            """;
+        ParseException sequential = assertThrows(ParseException.class, () -> context(text).parse());
+        ParseException chunked = assertThrows(ParseException.class,
+                () -> ChunkedParser.parse(context(text), POOL, 1));
+        assertEquals(sequential.code, chunked.code);
+        assertEquals(sequential.line, chunked.line);
+        assertEquals(sequential.col, chunked.col);
+    }
+
+    private static Context context(String text) {
+        return Context.builder().namespace("chunked").source(text).build();
+    }
+
+    private static void assertSameStatements(Context expected, Context actual, String file) {
+        List<Statement> e = expected.statements(), a = actual.statements();
+        assertEquals(e.size(), a.size(), file);
+        for (int i = 0; i < e.size(); i++) {
+            assertEquals(e.get(i).identifier(), a.get(i).identifier(), file);
+            assertEquals(e.get(i).value().toString(), a.get(i).value().toString(), file);
+            assertEquals(e.get(i).attributes().size(), a.get(i).attributes().size(), file);
+        }
+        assertEquals(expected.attributes().size(), actual.attributes().size(), file);
+        assertEquals(expected.exportedIdentifiers(), actual.exportedIdentifiers(), file);
+        assertTrue(actual.isParsed(), file);
+    }
+}
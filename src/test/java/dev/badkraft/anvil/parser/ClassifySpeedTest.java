@@ -0,0 +1,118 @@
+// src/test/java/dev/badkraft/anvil/parser/ClassifySpeedTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.data.Source;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Character classification benchmark: the ASCII class table in {@link Source}
+ * against the {@code Character.isLetter}/{@code isLetterOrDigit} path it replaced.
+ * <p>
+ * Both scanners walk every file in {@code src/test/resources} and measure identifier
+ * and bare-literal runs exactly the way {@link AnvilParser} matches them.
+ */
+public class ClassifySpeedTest {
+    private static final Path TEST_DIR = Paths.get("src/test/resources");
+    private static final int WARMUP_CYCLES = 2_000;
+    private static final int TEST_CYCLES = 500;
+
+    public static void main(String[] args) throws IOException {
+        List<Path> files = resolveFiles();
+        if (files.isEmpty()) {
+            log("ERROR: No .aml files found in " + TEST_DIR);
+            System.exit(1);
+        }
+
+        List<String> texts = new ArrayList<>();
+        for (Path file : files) texts.add(Files.readString(file));
+        Source source = Source.of("");
+
+        log("Warming up JVM with " + WARMUP_CYCLES + " cycles...");
+        long sink = 0;
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            for (String text : texts) {
+                sink += scanLegacy(text);
+                sink += scanTable(source, text);
+            }
+        }
+
+        log(String.format("%-28s %9s %8s %12s %12s %8s",
+                "File", "Size (B)", "Runs", "Legacy (µs)", "Table (µs)", "Gain"));
+        double legacyTotal = 0, tableTotal = 0;
+        for (int f = 0; f < files.size(); f++) {
+            String text = texts.get(f);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < TEST_CYCLES; i++) sink += scanLegacy(text);
+            double legacyUs = (System.nanoTime() - start) / (1_000.0 * TEST_CYCLES);
+
+            start = System.nanoTime();
+            for (int i = 0; i < TEST_CYCLES; i++) sink += scanTable(source, text);
+            double tableUs = (System.nanoTime() - start) / (1_000.0 * TEST_CYCLES);
+
+            legacyTotal += legacyUs;
+            tableTotal += tableUs;
+            log(String.format("%-28s %9d %8d %12.2f %12.2f %7.2fx",
+                    files.get(f).getFileName(), text.length(), scanTable(source, text),
+                    legacyUs, tableUs, legacyUs / tableUs));
+        }
+        log(String.format("Total: legacy %.2f µs, table %.2f µs, gain %.2fx (sink=%d)",
+                legacyTotal, tableTotal, legacyTotal / tableTotal, sink));
+    }
+
+    private static List<Path> resolveFiles() throws IOException {
+        try (var stream = Files.list(TEST_DIR)) {
+            return stream
+                    .filter(p -> p.toString().endsWith(".aml"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Identifier runs followed by bare-literal runs, as matchIdentifier/matchBareLiteral see them
+    private static int scanTable(Source source, String text) {
+        int runs = 0;
+        int i = 0, n = text.length();
+        while (i < n) {
+            char c = text.charAt(i);
+            if (source.isIdentifierStart(c)) {
+                int j = i + 1;
+                while (j < n && source.isIdentifierPart(text.charAt(j))) j++;
+                while (j < n && source.isBareLiteralPart(text.charAt(j))) j++;
+                runs++;
+                i = j;
+            } else {
+                i++;
+            }
+        }
+        return runs;
+    }
+
+    private static int scanLegacy(String text) {
+        int runs = 0;
+        int i = 0, n = text.length();
+        while (i < n) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c) || c == '_') {
+                int j = i + 1;
+                while (j < n && (Character.isLetterOrDigit(text.charAt(j)) || text.charAt(j) == '_' || text.charAt(j) == '.')) j++;
+                while (j < n && (Character.isLetterOrDigit(text.charAt(j)) || ":._".indexOf(text.charAt(j)) != -1)) j++;
+                runs++;
+                i = j;
+            } else {
+                i++;
+            }
+        }
+        return runs;
+    }
+
+    private static void log(String msg) {
+        System.out.println("[ClassifySpeedTest] " + msg);
+    }
+}
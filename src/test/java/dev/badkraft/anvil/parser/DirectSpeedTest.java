@@ -0,0 +1,139 @@
+// src/test/java/dev/badkraft/anvil/parser/DirectSpeedTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.api.Anvil;
+import dev.badkraft.anvil.api.node;
+import dev.badkraft.anvil.api.root;
+import dev.badkraft.anvil.data.attribute;
+import dev.badkraft.anvil.data.value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The default build (core tree, then runtime wrappers over it) against {@link Anvil.AnvilBuilder#direct()}
+ * over the mods corpus: time to parse each file, time to parse it and read every value, and heap
+ * held by the roots of the whole corpus. Heap is measured as used memory after a collection, so
+ * run it with nothing else in the JVM.
+ */
+public class DirectSpeedTest {
+    private static final Path TEST_MODS_DIR = Paths.get("src/test/resources/mods");
+    private static final int HELD_COPIES = 200;
+    private static final int WARMUP_CYCLES = 2_000;
+    private static final int TEST_CYCLES = 1_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws IOException {
+        List<String> texts = new ArrayList<>();
+        try (var stream = Files.list(TEST_MODS_DIR)) {
+            for (Path p : stream.filter(p -> p.toString().endsWith(".aml")).sorted().toList()) {
+                texts.add(Files.readString(p));
+            }
+        }
+        log("Corpus: " + texts.size() + " files, " + texts.stream().mapToInt(String::length).sum() + " chars");
+
+        long sink = 0;
+        log("Warming up JVM with " + WARMUP_CYCLES + " cycles...");
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            for (String text : texts) {
+                sink += read(parse(text, false)) + read(parse(text, true));
+            }
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            log(String.format("Round %d of %d", round, ROUNDS));
+            sink += measure(texts);
+        }
+        log("sink=" + sink);
+    }
+
+    // Both builds, one after the other; the rounds show how much the order matters.
+    private static long measure(List<String> texts) {
+        long sink = 0;
+        log(String.format("%-8s %12s %14s %12s", "", "Parse (us)", "Parse+read (us)", "Heap (KB)"));
+        for (boolean direct : new boolean[] { false, true }) {
+            long start = System.nanoTime();
+            for (int i = 0; i < TEST_CYCLES; i++) {
+                for (String text : texts) sink += parse(text, direct).nodes().size();
+            }
+            double parse = (System.nanoTime() - start) / (1e3 * TEST_CYCLES * texts.size());
+            start = System.nanoTime();
+            for (int i = 0; i < TEST_CYCLES; i++) {
+                for (String text : texts) sink += read(parse(text, direct));
+            }
+            double parseRead = (System.nanoTime() - start) / (1e3 * TEST_CYCLES * texts.size());
+
+            long base = usedHeap();
+            List<root> held = new ArrayList<>();
+            for (int i = 0; i < HELD_COPIES; i++) {
+                for (String text : texts) held.add(parse(new String(text), direct));
+            }
+            for (root r : held) sink += read(r);   // the tree build converts on first read
+            long heap = (usedHeap() - base) / HELD_COPIES;
+            sink += held.size();
+            held = null;
+
+            log(String.format("%-8s %12.1f %14.1f %12.1f", direct ? "direct" : "tree", parse, parseRead, heap / 1024.0));
+        }
+        return sink;
+    }
+
+    private static root parse(String text, boolean direct) {
+        try {
+            Anvil.AnvilBuilder builder = Anvil.read(text);
+            return (direct ? builder.direct() : builder).parse();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long read(root r) {
+        long count = 0;
+        for (node n : r.nodes()) {
+            count += read(n.attributes()) + read(n.value());
+        }
+        return count;
+    }
+
+    private static long read(value v) {
+        if (v == null) return 0;
+        return switch (v) {
+            case dev.badkraft.anvil.data.object o -> {
+                long count = read(o.attributes());
+                for (String field : o.fields()) count += read(o.get(field));
+                yield count;
+            }
+            case dev.badkraft.anvil.data.array a -> {
+                long count = read(a.attributes());
+                for (int i = 0; i < a.size(); i++) count += read(a.get(i));
+                yield count;
+            }
+            case dev.badkraft.anvil.data.tuple t -> {
+                long count = read(t.attributes());
+                for (int i = 0; i < t.size(); i++) count += read(t.get(i));
+                yield count;
+            }
+            default -> 1;
+        };
+    }
+
+    private static long read(List<attribute> attributes) {
+        long count = 0;
+        for (attribute a : attributes) count += 1 + read(a.value());
+        return count;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static void log(String msg) {
+        System.out.println("[DirectSpeedTest] " + msg);
+    }
+}
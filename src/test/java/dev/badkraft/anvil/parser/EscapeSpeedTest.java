@@ -0,0 +1,82 @@
+// src/test/java/dev/badkraft/anvil/parser/EscapeSpeedTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Source;
+
+/**
+ * Adversarial string/blob scanning benchmark: blobs made of long backslash runs,
+ * each ending in an escaped backtick, so every delimiter candidate is escaped.
+ * <p>
+ * The legacy scan is the per-char loop {@link AnvilParser} used to run, walking back
+ * over the backslash run at every candidate; the forward scan is a full
+ * {@link AnvilParser} pass. Time per KB should stay flat as the blobs grow.
+ */
+public class EscapeSpeedTest {
+    private static final int[] SIZES = { 4 << 10, 16 << 10, 64 << 10, 256 << 10 };
+    private static final int[] RUNS = { 1, 15, 255 };
+    private static final int WARMUP_CYCLES = 200;
+    private static final int TEST_CYCLES = 50;
+
+    public static void main(String[] args) {
+        log("Warming up JVM with " + WARMUP_CYCLES + " cycles...");
+        long sink = 0;
+        for (int run : RUNS) {
+            String warm = document(SIZES[1], run);
+            for (int i = 0; i < WARMUP_CYCLES; i++) {
+                sink += scanLegacy(Source.of(warm));
+                sink += parse(warm);
+            }
+        }
+
+        log(String.format("%-10s %9s %14s %14s %8s",
+                "Run", "Size (B)", "Legacy (µs/KB)", "Forward (µs/KB)", "Gain"));
+        for (int run : RUNS) {
+            for (int size : SIZES) {
+                String text = document(size, run);
+                double kb = text.length() / 1024.0;
+
+                long start = System.nanoTime();
+                for (int i = 0; i < TEST_CYCLES; i++) sink += scanLegacy(Source.of(text));
+                double legacyUs = (System.nanoTime() - start) / (1_000.0 * TEST_CYCLES * kb);
+
+                start = System.nanoTime();
+                for (int i = 0; i < TEST_CYCLES; i++) sink += parse(text);
+                double forwardUs = (System.nanoTime() - start) / (1_000.0 * TEST_CYCLES * kb);
+
+                log(String.format("%-10d %9d %14.3f %14.3f %7.2fx",
+                        run, text.length(), legacyUs, forwardUs, legacyUs / forwardUs));
+            }
+        }
+        log("sink=" + sink);
+    }
+
+    // blob := @txt`\\\...\`\\\...\`...`  (odd runs, so every backtick inside is escaped)
+    private static String document(int size, int run) {
+        StringBuilder sb = new StringBuilder(size + run + 32).append("blob := @txt`");
+        while (sb.length() < size) {
+            sb.append("\\".repeat(run)).append('`');
+        }
+        return sb.append("`\n").toString();
+    }
+
+    private static int parse(String text) {
+        Context context = Context.builder().namespace("escapes").source(text).build();
+        context.parse();
+        return context.statements().size();
+    }
+
+    // The pre-forward-scan loop: consume char by char, check escapes backwards at each candidate
+    private static int scanLegacy(Source source) {
+        source.setPosition(source.indexOf('`', 0) + 1);
+        while (!source.isEOF()) {
+            if (source.is('`') && !source.isEscaped(source.position())) break;
+            source.consume();
+        }
+        return source.position();
+    }
+
+    private static void log(String msg) {
+        System.out.println("[EscapeSpeedTest] " + msg);
+    }
+}
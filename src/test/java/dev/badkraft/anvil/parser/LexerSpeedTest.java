@@ -0,0 +1,80 @@
+// src/test/java/dev/badkraft/anvil/parser/LexerSpeedTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Source;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits parse time into its two layers: {@link AnvilLexer} alone against a full
+ * {@link AnvilParser} pass (lexing plus tree building) over every file in
+ * {@code src/test/resources}.
+ */
+public class LexerSpeedTest {
+    private static final Path TEST_DIR = Paths.get("src/test/resources");
+    private static final int WARMUP_CYCLES = 1_000;
+    private static final int TEST_CYCLES = 500;
+
+    public static void main(String[] args) throws IOException {
+        List<Path> files;
+        try (var stream = Files.list(TEST_DIR)) {
+            files = stream.filter(p -> p.toString().endsWith(".aml")).sorted().toList();
+        }
+        List<String> texts = new ArrayList<>();
+        for (Path file : files) texts.add(Files.readString(file));
+
+        log("Warming up JVM with " + WARMUP_CYCLES + " cycles...");
+        long sink = 0;
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            for (String text : texts) {
+                sink += lex(text);
+                sink += parse(text);
+            }
+        }
+
+        log(String.format("%-28s %9s %8s %10s %10s %7s",
+                "File", "Size (B)", "Tokens", "Lex (µs)", "Parse (µs)", "Lex %"));
+        for (int f = 0; f < files.size(); f++) {
+            String text = texts.get(f);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < TEST_CYCLES; i++) sink += lex(text);
+            double lexUs = (System.nanoTime() - start) / (1_000.0 * TEST_CYCLES);
+
+            start = System.nanoTime();
+            for (int i = 0; i < TEST_CYCLES; i++) sink += parse(text);
+            double parseUs = (System.nanoTime() - start) / (1_000.0 * TEST_CYCLES);
+
+            log(String.format("%-28s %9d %8d %10.2f %10.2f %6.1f%%",
+                    files.get(f).getFileName(), text.length(), lex(text),
+                    lexUs, parseUs, 100.0 * lexUs / parseUs));
+        }
+        log("sink=" + sink);
+    }
+
+    private static int lex(String text) {
+        Source source = Source.of(text);
+        source.parseDialect(null);
+        return AnvilLexer.lex(source).size();
+    }
+
+    private static int parse(String text) {
+        try {
+            Context context = Context.builder().namespace("lexer").source(text).build();
+            context.parse();
+            return context.statements().size();
+        } catch (ParseException e) {
+            return -1;                  // a few fixtures are deliberately broken
+        }
+    }
+
+    private static void log(String msg) {
+        System.out.println("[LexerSpeedTest] " + msg);
+    }
+}
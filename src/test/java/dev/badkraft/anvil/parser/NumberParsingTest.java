@@ -0,0 +1,87 @@
+// src/test/java/dev/badkraft/anvil/parser/NumberParsingTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Assignment;
+import dev.badkraft.anvil.core.data.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential checks of the allocation-free number decoding against the JDK parsers.
+ */
+class NumberParsingTest {
+
+    private static final long MAX_MANTISSA = Long.parseUnsignedLong("9999999999999999999");
+
+    @Test
+    void doubleParserMatchesJdk() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            long mantissa = random.nextLong() >>> random.nextInt(64);
+            if (Long.compareUnsigned(mantissa, MAX_MANTISSA) > 0) continue;
+            int exponent = random.nextInt(700) - 360;
+            double actual = DoubleParser.toDouble(mantissa, exponent, false);
+            if (Double.isNaN(actual)) continue;         // caller falls back to the JDK
+            double expected = Double.parseDouble(Long.toUnsignedString(mantissa) + "e" + exponent);
+            assertEquals(expected, actual, mantissa + "e" + exponent);
+        }
+    }
+
+    @Test
+    void doubleParserHardCases() {
+        String[] cases = {
+                "9007199254740993.0", "9007199254740995.0", "2.2250738585072011e-308", "2.2250738585072014e-308",
+                "1.7976931348623157e308", "1.7976931348623158e308", "7.038531e-26", "0.1", "5e-324",
+                "123456789012345678e-5", "4503599627370496.5", "4503599627370497.5", "1e23", "8.41e21"
+        };
+        for (String text : cases) assertEquals(Double.parseDouble(text), parseDouble(text), text);
+    }
+
+    @Test
+    void literalsMatchJdk() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long l = random.nextLong() >> random.nextInt(64);
+            assertEquals(l, parseLong(Long.toString(l)));
+
+            double d = Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE);
+            if (Double.isFinite(d)) assertEquals(d, parseDouble(Double.toString(d)), Double.toString(d));
+
+            String decimal = random.nextInt(1000) + "." + random.nextInt(1_000_000) + "e" + (random.nextInt(600) - 300);
+            assertEquals(Double.parseDouble(decimal), parseDouble(decimal), decimal);
+        }
+        assertEquals(Long.MIN_VALUE, parseLong("-9223372036854775808"));
+        assertEquals(1_000_000L, parseLong("1_000_000"));
+        assertEquals(12345678901234567890.5e-3, parseDouble("12_345_678_901_234_567_890.5e-3"));
+        assertEquals(-0.0, parseDouble("-0.0"));
+        assertEquals(0xFFFF_FFFFL, parseLong("0xFFFF_FFFF"));
+        assertEquals(Long.MAX_VALUE, parseLong("0x7FFF_FFFF_FFFF_FFFF"));
+    }
+
+    @Test
+    void overflowIsAParseError() {
+        assertThrows(ParseException.class, () -> parse("9223372036854775808"));
+        assertThrows(ParseException.class, () -> parse("-9223372036854775809"));
+        assertThrows(ParseException.class, () -> parse("0x8000_0000_0000_0000"));
+        assertThrows(ParseException.class, () -> parse("1e"));
+        assertThrows(ParseException.class, () -> parse("#"));
+    }
+
+    private static long parseLong(String text) {
+        return ((Value.LongValue) parse(text)).value();
+    }
+
+    private static double parseDouble(String text) {
+        return ((Value.DoubleValue) parse(text)).value();
+    }
+
+    private static Value parse(String text) {
+        Context context = Context.builder().namespace("numbers").source("n := " + text).build();
+        context.parse();
+        return ((Assignment) context.statements().getFirst()).value();
+    }
+}
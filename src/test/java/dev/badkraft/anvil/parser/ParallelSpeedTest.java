@@ -0,0 +1,73 @@
+// src/test/java/dev/badkraft/anvil/parser/ParallelSpeedTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scaling of {@link AnvilParser#parse(Context, ForkJoinPool)} across core counts: one large
+ * document, built by repeating {@code large_block_lib.aml}, parsed sequentially and then on
+ * pools of 1, 2, 4, ... threads up to the number of available processors. Give it a heap
+ * large enough (-Xmx2g) that collection does not drown out the parse.
+ */
+public class ParallelSpeedTest {
+    private static final Path SEED = Paths.get("src/test/resources/large_block_lib.aml");
+    private static final int COPIES = 64;
+    private static final int WARMUP_CYCLES = 10;
+    private static final int TEST_CYCLES = 10;
+
+    public static void main(String[] args) throws IOException {
+        String body = Files.readString(SEED).replaceFirst("^#!aml", "");
+        String text = "#!aml\n" + body.repeat(COPIES);
+        int cores = Runtime.getRuntime().availableProcessors();
+        log(String.format("Document: %,d chars, %,d statements, %d cores",
+                text.length(), sequential(text), cores));
+
+        long sink = 0;
+        log("Warming up JVM with " + WARMUP_CYCLES + " cycles...");
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            sink += sequential(text);
+            try (ForkJoinPool pool = new ForkJoinPool(cores)) {
+                sink += parallel(text, pool);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_CYCLES; i++) sink += sequential(text);
+        double baseMs = (System.nanoTime() - start) / (1e6 * TEST_CYCLES);
+        log(String.format("%-12s %10s %8s", "Threads", "Parse (ms)", "Speedup"));
+        log(String.format("%-12s %10.2f %7.2fx", "sequential", baseMs, 1.0));
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+                start = System.nanoTime();
+                for (int i = 0; i < TEST_CYCLES; i++) sink += parallel(text, pool);
+                double ms = (System.nanoTime() - start) / (1e6 * TEST_CYCLES);
+                log(String.format("%-12d %10.2f %7.2fx", threads, ms, baseMs / ms));
+            }
+            if (threads == cores) break;
+        }
+        log("sink=" + sink);
+    }
+
+    private static int sequential(String text) {
+        Context context = Context.builder().namespace("parallel").source(text).build();
+        context.parse();
+        return context.statements().size();
+    }
+
+    private static int parallel(String text, ForkJoinPool pool) {
+        Context context = Context.builder().namespace("parallel").source(text).build();
+        context.parse(pool);
+        return context.statements().size();
+    }
+
+    private static void log(String msg) {
+        System.out.println("[ParallelSpeedTest] " + msg);
+    }
+}
@@ -0,0 +1,67 @@
+// src/test/java/dev/badkraft/anvil/parser/ParserSessionTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Statement;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParserSessionTest {
+
+    @Test
+    void reusedSessionParsesEveryFixtureLikeAFreshParser() throws IOException {
+        List<Path> files;
+        try (var stream = Files.list(Paths.get("src/test/resources"))) {
+            files = stream.filter(p -> p.toString().endsWith(".aml")).sorted().toList();
+        }
+        ParserSession session = new ParserSession();
+        // twice round, so every document follows a different one
+        for (int round = 0; round < 2; round++) {
+            for (Path file : files) {
+                String text = Files.readString(file);
+                Context expected = context(text);
+                Context actual = context(text);
+                ParseException fresh = null, reused = null;
+                try { expected.parse(); } catch (ParseException e) { fresh = e; }
+                try { actual.parse(session); } catch (ParseException e) { reused = e; }
+
+                if (fresh != null) {
+                    assertNotNull(reused, file.toString());
+                    assertEquals(fresh.getMessage(), reused.getMessage(), file.toString());
+                    continue;
+                }
+                assertNull(reused, file.toString());
+                List<Statement> e = expected.statements(), a = actual.statements();
+                assertEquals(e.size(), a.size(), file.toString());
+                for (int i = 0; i < e.size(); i++) {
+                    assertEquals(e.get(i).identifier(), a.get(i).identifier(), file.toString());
+                    assertEquals(e.get(i).value().toString(), a.get(i).value().toString(), file.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void sessionRecoversFromAFailedDocument() {
+        ParserSession session = new ParserSession();
+        Context broken = context("a := { b := [1, { c := } ] }");
+        assertThrows(ParseException.class, () -> broken.parse(session));
+
+        Context next = context("a @[x] := { b := [1, (2, 3)] }\nd := { b := 4 }");
+        next.parse(session);
+        assertEquals(2, next.statements().size());
+        assertEquals("{ b := [1, (2, 3)] }", next.statements().getFirst().value().toString());
+        assertEquals(1, next.statements().getFirst().attributes().size());
+    }
+
+    private static Context context(String text) {
+        return Context.builder().namespace("session").source(text).build();
+    }
+}
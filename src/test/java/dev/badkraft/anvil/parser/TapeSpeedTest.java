@@ -0,0 +1,124 @@
+// src/test/java/dev/badkraft/anvil/parser/TapeSpeedTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Statement;
+import dev.badkraft.anvil.core.data.Value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record tree against {@link Tape}: heap held by one parsed document, parse time, and the time
+ * of a full traversal summing every number. Heap is measured as used memory after a collection,
+ * so run it with nothing else in the JVM.
+ */
+public class TapeSpeedTest {
+    private static final Path SEED = Paths.get("src/test/resources/large_block_lib.aml");
+    private static final int COPIES = 16;
+    private static final int WARMUP_CYCLES = 10;
+    private static final int TEST_CYCLES = 10;
+
+    public static void main(String[] args) throws IOException {
+        String body = Files.readString(SEED).replaceFirst("^#!aml", "");
+        String text = "#!aml\n" + body.repeat(COPIES);
+        log(String.format("Document: %,d chars", text.length()));
+
+        long base = usedHeap();
+        Context tree = tree(text);
+        long treeBytes = usedHeap() - base;
+        tree = null;
+        base = usedHeap();
+        Tape tape = tape(text);
+        long tapeBytes = usedHeap() - base;
+        log(String.format("Heap: tree %,d bytes, tape %,d bytes (%d entries), %.1fx smaller",
+                treeBytes, tapeBytes, tape.entries(), (double) treeBytes / tapeBytes));
+        tape = null;
+
+        double sink = 0;
+        log("Warming up JVM with " + WARMUP_CYCLES + " cycles...");
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            sink += sum(tree(text).statements());
+            sink += sum(tape(text));
+        }
+
+        Context parsedTree = tree(text);
+        Tape parsedTape = tape(text);
+        long start = System.nanoTime();
+        for (int i = 0; i < TEST_CYCLES; i++) sink += tree(text).statements().size();
+        double treeParse = (System.nanoTime() - start) / (1e6 * TEST_CYCLES);
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_CYCLES; i++) sink += tape(text).size();
+        double tapeParse = (System.nanoTime() - start) / (1e6 * TEST_CYCLES);
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_CYCLES; i++) sink += sum(parsedTree.statements());
+        double treeWalk = (System.nanoTime() - start) / (1e6 * TEST_CYCLES);
+        start = System.nanoTime();
+        for (int i = 0; i < TEST_CYCLES; i++) sink += sum(parsedTape);
+        double tapeWalk = (System.nanoTime() - start) / (1e6 * TEST_CYCLES);
+
+        log(String.format("%-8s %10s %10s", "", "Parse (ms)", "Walk (ms)"));
+        log(String.format("%-8s %10.2f %10.2f", "tree", treeParse, treeWalk));
+        log(String.format("%-8s %10.2f %10.2f", "tape", tapeParse, tapeWalk));
+        log("sink=" + sink);
+    }
+
+    private static Context tree(String text) {
+        Context context = Context.builder().namespace("tape").source(text).build();
+        context.parse();
+        return context;
+    }
+
+    private static Tape tape(String text) {
+        return AnvilParser.tape(Context.builder().namespace("tape").source(text).build());
+    }
+
+    private static double sum(List<Statement> statements) {
+        double sum = 0;
+        for (Statement s : statements) sum += sum(s.value());
+        return sum;
+    }
+
+    private static double sum(Value value) {
+        return switch (value) {
+            case Value.LongValue l -> l.value();
+            case Value.DoubleValue d -> d.value();
+            case Value.ObjectValue o -> o.fields().stream().map(Map.Entry::getValue).mapToDouble(TapeSpeedTest::sum).sum();
+            case Value.ArrayValue a -> a.elements().stream().mapToDouble(TapeSpeedTest::sum).sum();
+            case Value.TupleValue t -> t.elements().stream().mapToDouble(TapeSpeedTest::sum).sum();
+            default -> 0;
+        };
+    }
+
+    private static double sum(Tape tape) {
+        double sum = 0;
+        for (int i = 0; i < tape.size(); i++) sum += sum(tape.value(i));
+        return sum;
+    }
+
+    private static double sum(Tape.Node node) {
+        return switch (node.kind()) {
+            case LONG, DOUBLE -> node.doubleValue();
+            case OBJECT, ARRAY, TUPLE -> {
+                double sum = 0;
+                for (Tape.Node child : node.children()) sum += sum(child);
+                yield sum;
+            }
+            default -> 0;
+        };
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static void log(String msg) {
+        System.out.println("[TapeSpeedTest] " + msg);
+    }
+}
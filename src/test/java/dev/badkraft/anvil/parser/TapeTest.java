@@ -0,0 +1,141 @@
+// src/test/java/dev/badkraft/anvil/parser/TapeTest.java
+package dev.badkraft.anvil.parser;
+
+import dev.badkraft.anvil.core.api.Context;
+import dev.badkraft.anvil.core.data.Source;
+import dev.badkraft.anvil.core.data.Statement;
+import dev.badkraft.anvil.core.data.Value;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TapeTest {
+
+    @Test
+    void everyFixtureReadsAsTheParsedTree() throws IOException {
+        List<Path> files;
+        try (var stream = Files.list(Paths.get("src/test/resources"))) {
+            files = stream.filter(p -> p.toString().endsWith(".aml")).sorted().toList();
+        }
+        for (Path file : files) {
+            String text = Files.readString(file);
+            Context expected = context(text);
+            ParseException parsed = null, taped = null;
+            try { expected.parse(); } catch (ParseException e) { parsed = e; }
+            Tape tape = null;
+            try { tape = AnvilParser.tape(context(text)); } catch (ParseException e) { taped = e; }
+
+            if (parsed != null) {
+                assertNotNull(taped, file.toString());
+                assertEquals(parsed.getMessage(), taped.getMessage(), file.toString());
+                continue;
+            }
+            assertNull(taped, file.toString());
+            List<Statement> statements = expected.statements();
+            assertEquals(statements.size(), tape.size(), file.toString());
+            for (int i = 0; i < statements.size(); i++) {
+                Statement e = statements.get(i), a = tape.statement(i);
+                assertEquals(e.identifier(), a.identifier(), file.toString());
+                assertEquals(e.attributes().toString(), a.attributes().toString(), file.toString());
+                assertEquals(e.value().toString(), a.value().toString(), file.toString());
+                assertSameValue(e.value(), tape.value(i), file + " " + e.identifier());
+            }
+        }
+    }
+
+    @Test
+    void attributesOnScalarsAreRejectedLikeTheTree() {
+        for (String text : List.of("a @[x] := 5", "o := { f @[x=1] := \"s\" }", "b @[y] := @md`text`")) {
+            assertThrows(UnsupportedOperationException.class, () -> context(text).parse(), text);
+            assertThrows(UnsupportedOperationException.class, () -> AnvilParser.tape(context(text)), text);
+        }
+        assertEquals(1, AnvilParser.tape(context("a @[x] := [5]")).size());
+    }
+
+    @Test
+    void streamedSourcesAreRefused() {
+        // the spans would point into a window that has already been dropped
+        Context streamed = Context.builder().namespace("tape")
+                .source(Source.stream(new ByteArrayInputStream("a := { b := \"c\" }".getBytes(StandardCharsets.UTF_8))))
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> AnvilParser.tape(streamed));
+    }
+
+    @Test
+    void nodesReadStraightOffTheTape() {
+        Tape tape = AnvilParser.tape(context("""
+            a : base @[x=1] := { b := [1, 2.5, 0xFF], c @[y] := ("s", true, null), d := @md`text` }
+            e := 7
+            """));
+
+        assertEquals(2, tape.size());
+        assertEquals(1, tape.indexOf("e"));
+        assertEquals("base", tape.base(0));
+        Tape.Node a = tape.value(0);
+        assertEquals(Tape.Kind.OBJECT, a.kind());
+        assertEquals("base", a.getBase());
+        assertEquals(List.of("b", "c", "d"), a.fieldNames());
+        assertEquals("x", a.attributes().getFirst().key());
+
+        Tape.Node b = a.get("b");
+        assertEquals(3, b.size());
+        assertEquals(1, b.get(0).longValue());
+        assertEquals(2.5, b.get(1).doubleValue());
+        assertEquals(255, b.get(2).longValue());
+
+        Tape.Node c = a.get("c");
+        assertEquals(Tape.Kind.TUPLE, c.kind());
+        assertEquals("y", c.attributes().getFirst().key());
+        assertEquals("s", c.get(0).content());
+        assertTrue(c.get(1).booleanValue());
+        assertEquals(Tape.Kind.NULL, c.get(2).kind());
+        assertEquals("md", a.get("d").tag());
+        assertNull(a.get("missing"));
+
+        assertEquals(7, tape.value(1).longValue());
+        assertThrows(UnsupportedOperationException.class, () -> tape.value(1).content());
+    }
+
+    private static void assertSameValue(Value expected, Tape.Node actual, String where) {
+        assertEquals(expected.start(), actual.start(), where);
+        assertEquals(expected.end(), actual.end(), where);
+        assertEquals(expected.toString(), actual.toString(), where);
+        switch (expected) {
+            case Value.ObjectValue o -> {
+                assertEquals(o.getBase(), actual.getBase(), where);
+                assertEquals(o.fields().stream().map(Map.Entry::getKey).toList(), actual.fieldNames(), where);
+                List<Tape.Node> children = actual.children();
+                for (int i = 0; i < children.size(); i++) {
+                    assertSameValue(o.fields().get(i).getValue(), children.get(i), where);
+                }
+            }
+            case Value.ArrayValue arr -> assertSameElements(arr.elements(), actual, where);
+            case Value.TupleValue t -> assertSameElements(t.elements(), actual, where);
+            case Value.LongValue l -> assertEquals(l.value(), actual.longValue(), where);
+            case Value.HexValue h -> assertEquals(h.value(), actual.longValue(), where);
+            case Value.DoubleValue d -> assertEquals(d.value(), actual.doubleValue(), where);
+            case Value.BooleanValue b -> assertEquals(b.value(), actual.booleanValue(), where);
+            case Value.StringValue s -> assertEquals(s.content(), actual.content(), where);
+            case Value.BlobValue b -> assertEquals(b.attribute(), actual.tag(), where);
+            default -> { }
+        }
+    }
+
+    private static void assertSameElements(List<Value> expected, Tape.Node actual, String where) {
+        assertEquals(expected.size(), actual.size(), where);
+        for (int i = 0; i < expected.size(); i++) assertSameValue(expected.get(i), actual.get(i), where);
+    }
+
+    private static Context context(String text) {
+        return Context.builder().namespace("tape").source(text).build();
+    }
+}